@@ -0,0 +1,79 @@
+package saynotoretake.bench;
+
+/**
+ * Latency benchmark for `AtRiskIndex`.
+ *
+ * Indexes a synthetic cohort (four subjects per student), then times single grade updates and the two
+ * queries advisers use: the top-K pairs by shortfall and the first page of pairs below a score.
+ * Times are medians over many runs, in microseconds.
+ *
+ * Usage: java AtRiskIndexBenchmark [students] [k]
+ */
+
+import saynotoretake.core.*;
+import java.util.*;
+
+public class AtRiskIndexBenchmark {
+
+    private static final int SAMPLES = 10_000;
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        GradeSchema schema = GradeSchema.of(Map.of("Quiz", 40.0, "Midterm", 30.0));
+        Random random = new Random(42);
+        Student[] cohort = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+            for (String name : new String[] {"Calculus", "Design Patterns", "Data Structure and Algorithms", "Turkish language"}) {
+                BaseSubject subject = new BaseSubject(name, schema);
+                subject.tryAddGrade("Quiz", random.nextInt(20));
+                student.addSubject(subject);
+            }
+            cohort[i] = student;
+        }
+
+        AtRiskIndex index = new AtRiskIndex(50);
+        long begin = System.nanoTime();
+        for (Student student : cohort) {
+            index.add(student);
+        }
+        System.out.printf("students=%d pairs=%d build %.0f ms%n", studentCount, index.size(), (System.nanoTime() - begin) / 1e6);
+
+        long[] update = new long[SAMPLES];
+        long[] top = new long[SAMPLES];
+        long[] below = new long[SAMPLES];
+        long sink = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < SAMPLES; i++) {
+                Student student = cohort[random.nextInt(studentCount)];
+                student.getSubjects().get(random.nextInt(4)).tryAddGrade("Midterm", 0.01);
+                long t0 = System.nanoTime();
+                index.update(student);
+                long t1 = System.nanoTime();
+                sink += index.topK(k).size();
+                long t2 = System.nanoTime();
+                Iterator<AtRiskIndex.Entry> page = index.below(20).iterator();
+                for (int j = 0; j < k && page.hasNext(); j++) {
+                    sink += page.next().getShortfall() > 0 ? 1 : 0;
+                }
+                long t3 = System.nanoTime();
+                update[i] = t1 - t0;
+                top[i] = t2 - t1;
+                below[i] = t3 - t2;
+            }
+            System.out.printf("round %d: update %.1f us | top-%d %.1f us | below(20) first %d %.1f us%n",
+                    round + 1, median(update), k, median(top), k, median(below));
+        }
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+    }
+
+    private static double median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1e3;
+    }
+}
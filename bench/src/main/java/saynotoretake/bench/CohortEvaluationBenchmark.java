@@ -0,0 +1,67 @@
+package saynotoretake.bench;
+
+/**
+ * Scaling benchmark for `CohortEvaluator`.
+ *
+ * Builds a synthetic cohort (four subjects per student, random scores) and evaluates it on fork/join
+ * pools of 1, 2, 4, ... threads up to the number of cores, printing students/s and the speed-up over
+ * one thread.
+ *
+ * Usage: java CohortEvaluationBenchmark [students] [rounds]
+ */
+
+import saynotoretake.core.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class CohortEvaluationBenchmark {
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        GradeSchema calculus = GradeSchema.of(Map.of("Quiz", 40.0, "Midterm", 30.0));
+        GradeSchema designPatterns = GradeSchema.of(Map.of("Lab.work", 40.0, "Project", 20.0));
+        GradeSchema algorithms = GradeSchema.of(Map.of("Home work", 30.0, "Contest", 30.0));
+        GradeSchema turkish = GradeSchema.of(Map.of("Midterm", 30.0, "Ders", 30.0));
+        Random random = new Random(42);
+        Student[] cohort = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+            student.addSubject(subject("Calculus", calculus, random));
+            student.addSubject(subject("Design Patterns", designPatterns, random));
+            student.addSubject(subject("Data Structure and Algorithms", algorithms, random));
+            student.addSubject(subject("Turkish language", turkish, random));
+            cohort[i] = student;
+        }
+
+        System.out.printf("students=%d cores=%d%n", studentCount, cores);
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads = threads == cores ? cores + 1 : Math.min(cores, threads * 2)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            CohortEvaluator evaluator = new CohortEvaluator(new CombinedEvaluator(), pool, 4096);
+            double best = 0;
+            CohortSummary summary = null;
+            for (int round = 0; round < rounds; round++) {
+                long begin = System.nanoTime();
+                summary = evaluator.evaluate(cohort);
+                best = Math.max(best, studentCount / ((System.nanoTime() - begin) / 1e9));
+            }
+            pool.shutdown();
+            if (threads == 1) {
+                single = best;
+            }
+            System.out.printf("threads=%-3d %,14.0f students/s  speed-up %.2fx  (at risk %d, candidates %d)%n",
+                    threads, best, best / single, summary.getAtRiskStudents(), summary.getScholarshipCandidates());
+        }
+    }
+
+    private static Subject subject(String name, GradeSchema schema, Random random) {
+        BaseSubject subject = new BaseSubject(name, schema);
+        for (int slot = 0; slot < schema.size(); slot++) {
+            subject.tryAddGrade(schema.category(slot), random.nextInt((int) schema.maxPoints(slot) + 1));
+        }
+        return subject;
+    }
+}
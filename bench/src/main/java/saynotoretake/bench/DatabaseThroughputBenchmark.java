@@ -0,0 +1,102 @@
+package saynotoretake.bench;
+
+/**
+ * Throughput benchmark for the `Database` singleton.
+ *
+ * Compares the concurrent store against the old `HashMap<String, Student>` layout. A bare HashMap
+ * corrupts itself under concurrent writers, so the baseline wraps it in `Collections.synchronizedMap`,
+ * which is the cheapest way the old map could have been shared between threads.
+ *
+ * Usage: java DatabaseThroughputBenchmark [students] [advisers] [threads]
+ */
+
+import saynotoretake.core.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+public class DatabaseThroughputBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int adviserCount = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Student[] cohort = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            cohort[i] = new Student("Adviser" + (i % adviserCount), "Student" + i, new ArrayList<>());
+        }
+
+        System.out.printf("students=%d advisers=%d threads=%d%n", studentCount, adviserCount, threads);
+        for (int round = 1; round <= ROUNDS; round++) {
+            Map<String, Student> baseline = Collections.synchronizedMap(new HashMap<>());
+            double baselineWrites = run(threads, cohort, s -> baseline.put(s.getName(), s));
+            double baselineReads = run(threads, cohort, s -> baseline.get(s.getName()));
+            double baselineListing = listAdvisers(adviserCount, a -> {
+                int k = 0;
+                synchronized (baseline) {
+                    for (Student s : baseline.values()) {
+                        if (s.getAdviserName().equals(a)) {
+                            k++;
+                        }
+                    }
+                }
+                return k;
+            });
+
+            Database db = Database.getInstance();
+            double dbWrites = run(threads, cohort, db::addStudent);
+            double dbReads = run(threads, cohort, s -> db.getStudent(s.getName()));
+            double dbListing = listAdvisers(adviserCount, a -> db.getStudentsOfAdviser(a).size());
+
+            System.out.printf("round %d%n", round);
+            System.out.printf("  addStudent     : synchronized HashMap %,14.0f ops/s | Database %,14.0f ops/s%n", baselineWrites, dbWrites);
+            System.out.printf("  getStudent     : synchronized HashMap %,14.0f ops/s | Database %,14.0f ops/s%n", baselineReads, dbReads);
+            System.out.printf("  adviser listing: full scan            %,14.0f ops/s | index    %,14.0f ops/s%n", baselineListing, dbListing);
+        }
+    }
+
+    // Every thread walks the whole cohort starting at its own offset, so writers collide on the same keys.
+    private static double run(int threads, Student[] cohort, Consumer<Student> op) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * (cohort.length / threads);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < cohort.length; i++) {
+                    op.accept(cohort[(offset + i) % cohort.length]);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return (double) threads * cohort.length / (elapsed / 1e9);
+    }
+
+    private interface Listing {
+        int count(String adviserName);
+    }
+
+    private static double listAdvisers(int adviserCount, Listing listing) {
+        int sink = 0;
+        long begin = System.nanoTime();
+        for (int a = 0; a < adviserCount; a++) {
+            sink += listing.count("Adviser" + a);
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (sink < 0) {
+            System.out.println(sink);
+        }
+        return adviserCount / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,86 @@
+package saynotoretake.bench;
+
+/**
+ * Throughput benchmark for `GradeImporter`.
+ *
+ * Generates a CSV or NDJSON export for a synthetic cohort (every 1000th row carries a bad score such as
+ * "NaN", "Infinity" or "."), then imports it `rounds` times into fresh subjects and reports rows/s,
+ * applied and rejected rows, and the heap in use after each round, so the flat-memory claim can be
+ * checked against larger files.
+ *
+ * The grading code prints a line for every adviser notification; System.out is replaced by a null
+ * stream while the imports run.
+ *
+ * Usage: java GradeImportBenchmark [students] [rows] [csv|ndjson] [rounds]
+ */
+
+import saynotoretake.core.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class GradeImportBenchmark {
+
+    private static final String[] SUBJECTS = {"Calculus", "Design Patterns", "Data Structure and Algorithms", "Turkish language"};
+    private static final String[] CATEGORIES = {"Quiz", "Lab.work", "Contest", "Ders"};
+    private static final String[] BAD_SCORES = {"NaN", "Infinity", ".", "-1e999"};
+
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long rows = args.length > 1 ? Long.parseLong(args[1]) : 5_000_000;
+        GradeImporter.Format format = args.length > 2 && args[2].equalsIgnoreCase("ndjson") ? GradeImporter.Format.NDJSON : GradeImporter.Format.CSV;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        Path file = Files.createTempFile("grades", format == GradeImporter.Format.CSV ? ".csv" : ".ndjson");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == GradeImporter.Format.CSV) {
+                out.write("student,subject,category,score\n");
+            }
+            for (long row = 0; row < rows; row++) {
+                int s = (int) (row % SUBJECTS.length);
+                String student = "Student" + (row / SUBJECTS.length) % studentCount;
+                String score = row % 1000 == 999 ? BAD_SCORES[(int) (row / 1000 % BAD_SCORES.length)] : "0.01";
+                if (format == GradeImporter.Format.CSV) {
+                    out.write(student + "," + SUBJECTS[s] + "," + CATEGORIES[s] + "," + score + "\n");
+                } else {
+                    out.write("{\"student\": \"" + student + "\", \"subject\": \"" + SUBJECTS[s] + "\", \"category\": \""
+                            + CATEGORIES[s] + "\", \"score\": \"" + score + "\"}\n");
+                }
+            }
+        }
+        System.out.printf("students=%d rows=%,d format=%s file=%,d bytes%n", studentCount, rows, format, Files.size(file));
+
+        PrintStream console = System.out;
+        Database db = Database.getInstance();
+        Adviser adviser = new Adviser("Nursat");
+        db.setAdviser(adviser);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                // Fresh subjects each round, so every round applies the same rows against empty categories.
+                for (int i = 0; i < studentCount; i++) {
+                    Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+                    student.addSubject(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0)));
+                    student.addSubject(new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0)));
+                    student.addSubject(new BaseSubject("Data Structure and Algorithms", Map.of("Home work", 30.0, "Contest", 30.0)));
+                    student.addSubject(new BaseSubject("Turkish language", Map.of("Midterm", 30.0, "Ders", 30.0)));
+                    student.addObserver(adviser);
+                    db.addStudent(student);
+                }
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                long begin = System.nanoTime();
+                GradeImporter.ImportResult result = new GradeImporter(db).importFile(file, format);
+                long elapsed = System.nanoTime() - begin;
+                System.setOut(console);
+                System.gc();
+                Runtime runtime = Runtime.getRuntime();
+                System.out.printf("round %d: %,12.0f rows/s  applied %,d  rejected %,d  heap in use %,d MB%n", round,
+                        result.getRowsRead() / (elapsed / 1e9), result.getRowsApplied(), result.getErrorCount(),
+                        (runtime.totalMemory() - runtime.freeMemory()) >> 20);
+            }
+        } finally {
+            System.setOut(console);
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package saynotoretake.bench;
+
+/**
+ * JMH benchmarks for the grading hot paths.
+ *
+ * Every benchmark runs against a cohort built in `Cohort.setup`; `cohortSize` is a JMH parameter so the
+ * same methods show how each path scales. `main` runs the suite with the GC profiler, which adds
+ * allocation rate (gc.alloc.rate.norm = bytes per operation) next to the timings.
+ *
+ * Usage, after `mvn -B verify` has packaged bench/target/benchmarks.jar:
+ *   java -cp bench/target/benchmarks.jar saynotoretake.bench.GradingBenchmarks                 # whole suite, GC profiler on
+ *   java -cp bench/target/benchmarks.jar saynotoretake.bench.GradingBenchmarks totalScore -p cohortSize=1000
+ *
+ * Recorded results live in bench/results/grading-benchmarks.txt.
+ *
+ * The grading code prints a line for every accepted grade and every adviser notification; System.out
+ * is replaced by a null stream during the run so the numbers measure the code, not the terminal.
+ * At the end of a trial that looked up strategy results (`retakeStrategyCached`), the strategy cache's
+ * hits, misses and hit rate are printed to the real standard output.
+ */
+
+import saynotoretake.core.*;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Cohort {
+        @Param({"100", "10000", "100000"})
+        public int cohortSize;
+
+        Student[] students;
+        Subject[] plainSubjects;
+        Subject[] decoratedSubjects;
+        Adviser adviser;
+        final Strategy retake = new RetakeStrategy();
+        final Strategy scholarship = new ScholarshipStrategy();
+        final Strategy combined = new CombinedEvaluator();
+        final Evaluation evaluation = new Evaluation();
+        String sessionToken;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            Database db = Database.getInstance();
+            adviser = new Adviser("Nursat");
+            db.setAdviser(adviser);
+            // One hash shared by the whole cohort; enrolling 100k students one by one would take minutes.
+            Credential credential = Credential.create("12345", CredentialStore.DEFAULT_ITERATIONS);
+            students = new Student[cohortSize];
+            plainSubjects = new Subject[cohortSize];
+            decoratedSubjects = new Subject[cohortSize];
+            Random random = new Random(42);
+            for (int i = 0; i < cohortSize; i++) {
+                Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+                Subject calculus = new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0));
+                Subject designPatterns = new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0));
+                Subject algorithms = new BaseSubject("Data Structure and Algorithms", Map.of("Home work", 30.0, "Contest", 30.0));
+                Subject turkish = new BaseSubject("Turkish language", Map.of("Midterm", 30.0, "Ders", 30.0));
+                calculus.tryAddGrade("Quiz", random.nextInt(41));
+                designPatterns.tryAddGrade("Lab.work", random.nextInt(41));
+                algorithms.tryAddGrade("Contest", random.nextInt(31));
+                turkish.tryAddGrade("Ders", random.nextInt(31));
+                Subject bonusCalculus = new BonusDecoratorSubject(new BonusDecoratorSubject(calculus, 2.0), 3.0);
+                student.addSubject(bonusCalculus);
+                student.addSubject(designPatterns);
+                student.addSubject(algorithms);
+                student.addSubject(turkish);
+                student.addObserver(adviser);
+                db.addStudent(student);
+                db.getCredentials().put(CredentialStore.Role.STUDENT, student.getName(), credential);
+                students[i] = student;
+                plainSubjects[i] = calculus;
+                decoratedSubjects[i] = bonusCalculus;
+            }
+            sessionToken = db.getSessions().issue(CredentialStore.Role.STUDENT, students[0].getName());
+            GradingEngine.resetStrategyCacheStatistics();
+        }
+
+        @TearDown(Level.Trial)
+        public void reportStrategyCache() {
+            long hits = GradingEngine.getStrategyCacheHits();
+            long misses = GradingEngine.getStrategyCacheMisses();
+            if (hits + misses > 0) {
+                PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), true);
+                out.printf("strategy cache: %,d hits, %,d misses, hit rate %.4f%n", hits, misses, GradingEngine.getStrategyCacheHitRate());
+            }
+        }
+
+        int nextIndex() {
+            int index = next;
+            next = index + 1 == cohortSize ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    // A fresh subject per invocation keeps addGrade on its accepting path instead of hitting the maximum.
+    // This state does not depend on `Cohort`, so it silences System.out itself.
+    @State(Scope.Thread)
+    public static class FreshSubject {
+        Subject subject;
+
+        @Setup(Level.Trial)
+        public void silence() {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            subject = new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0));
+        }
+    }
+
+    // A student with fresh subjects, so a whole gradebook row (one grade per subject) always fits.
+    @State(Scope.Thread)
+    public static class FreshStudent {
+        Student student;
+
+        @Setup(Level.Invocation)
+        public void setup(Cohort cohort) {
+            student = new Student("Nursat", "Fresh", new ArrayList<>());
+            student.addSubject(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0)));
+            student.addSubject(new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0)));
+            student.addSubject(new BaseSubject("Data Structure and Algorithms", Map.of("Home work", 30.0, "Contest", 30.0)));
+            student.addSubject(new BaseSubject("Turkish language", Map.of("Midterm", 30.0, "Ders", 30.0)));
+            student.addObserver(cohort.adviser);
+        }
+    }
+
+    // One notification per grade...
+    @Benchmark
+    public Student gradebookRowSingle(FreshStudent fresh) {
+        fresh.student.addGrade("Calculus", "Quiz", 10.0);
+        fresh.student.addGrade("Design Patterns", "Lab.work", 10.0);
+        fresh.student.addGrade("Data Structure and Algorithms", "Contest", 10.0);
+        fresh.student.addGrade("Turkish language", "Ders", 10.0);
+        return fresh.student;
+    }
+
+    // ...against one notification for the row.
+    @Benchmark
+    public GradeBatch.Summary gradebookRowBatch(FreshStudent fresh) {
+        return fresh.student.addGrades(new GradeBatch()
+                .add("Calculus", "Quiz", 10.0)
+                .add("Design Patterns", "Lab.work", 10.0)
+                .add("Data Structure and Algorithms", "Contest", 10.0)
+                .add("Turkish language", "Ders", 10.0));
+    }
+
+    @Benchmark
+    public boolean addGrade(FreshSubject fresh) {
+        return fresh.subject.addGrade("Quiz", 1.0);
+    }
+
+    @Benchmark
+    public boolean tryAddGrade(FreshSubject fresh) {
+        return fresh.subject.tryAddGrade("Quiz", 1.0);
+    }
+
+    // Resolving a grade's target: the subject index, then the category slot.
+    @Benchmark
+    public int subjectLookup(Cohort cohort) {
+        return cohort.students[cohort.nextIndex()].getSubject("Turkish language").slotOf("Ders");
+    }
+
+    @Benchmark
+    public double totalScore(Cohort cohort) {
+        return cohort.plainSubjects[cohort.nextIndex()].getTotalScore();
+    }
+
+    @Benchmark
+    public double totalScoreDecorated(Cohort cohort) {
+        return cohort.decoratedSubjects[cohort.nextIndex()].getTotalScore();
+    }
+
+    @Benchmark
+    public String retakeStrategy(Cohort cohort) {
+        return cohort.retake.calculate(cohort.students[cohort.nextIndex()]);
+    }
+
+    @Benchmark
+    public String scholarshipStrategy(Cohort cohort) {
+        return cohort.scholarship.calculate(cohort.students[cohort.nextIndex()]);
+    }
+
+    // Reopening the screen with unchanged grades: a version check and a cache lookup.
+    @Benchmark
+    public String retakeStrategyCached(Cohort cohort) {
+        return cohort.students[cohort.nextIndex()].getStrategyResult(cohort.retake);
+    }
+
+    // The structured path: the same numbers as above without building any text.
+    @Benchmark
+    public Evaluation retakeEvaluate(Cohort cohort) {
+        cohort.retake.evaluate(cohort.students[cohort.nextIndex()], cohort.evaluation);
+        return cohort.evaluation;
+    }
+
+    @Benchmark
+    public Evaluation scholarshipEvaluate(Cohort cohort) {
+        cohort.scholarship.evaluate(cohort.students[cohort.nextIndex()], cohort.evaluation);
+        return cohort.evaluation;
+    }
+
+    // Both strategies and the extra rules in one walk over the subjects.
+    @Benchmark
+    public Evaluation combinedEvaluate(Cohort cohort) {
+        cohort.combined.evaluate(cohort.students[cohort.nextIndex()], cohort.evaluation);
+        return cohort.evaluation;
+    }
+
+    @Benchmark
+    public String generateReport(Cohort cohort) {
+        return cohort.students[cohort.nextIndex()].generateReport();
+    }
+
+    // The adviser-side cost of one grade: the notification plus rebuilding the adviser's view.
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String updateReports(Cohort cohort) {
+        cohort.adviser.update(cohort.students[cohort.nextIndex()]);
+        return cohort.adviser.renderReports();
+    }
+
+    // One salted hash per login.
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void login(Cohort cohort, Blackhole blackhole) {
+        String name = cohort.students[cohort.nextIndex()].getName();
+        User user = UserFactory.findUser("Student", name);
+        ProxyAuthentication proxy = new ProxyAuthentication(user, "Nursat", cohort.adviser);
+        blackhole.consume(proxy.authentication(name, "12345"));
+    }
+
+    // What every action after the login costs: checking the signed session token.
+    @Benchmark
+    public SessionTokens.Session validateSession(Cohort cohort) {
+        return Database.getInstance().getSessions().validate(cohort.sessionToken);
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .include(commandLine.getIncludes().isEmpty() ? GradingBenchmarks.class.getSimpleName() : String.join("|", commandLine.getIncludes()))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
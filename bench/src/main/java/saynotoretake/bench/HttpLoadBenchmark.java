@@ -0,0 +1,130 @@
+package saynotoretake.bench;
+
+/**
+ * Local load test for `GradingServer`.
+ *
+ * Starts the server in-process on a free port over a synthetic cohort, logs one client in through
+ * `POST /api/login`, then has `clients` threads send requests back to back for a fixed time and reports
+ * requests/s with p50/p99 latency. The mix is `writePercent` grade posts; the rest is split evenly between
+ * the report, retake and scholarship reads. Each client works on its own slice of the cohort with tokens
+ * issued up front, so the numbers measure the API rather than the password hash. Requests go through
+ * HttpURLConnection, whose keep-alive cache reuses one connection per client thread.
+ *
+ * The grading code prints a line for every accepted grade; System.out is replaced by a null stream
+ * while the load runs.
+ *
+ * Usage: java HttpLoadBenchmark [students] [clients] [seconds] [writePercent]
+ */
+
+import saynotoretake.core.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HttpLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int writePercent = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        PrintStream console = System.out;
+        Database db = Database.getInstance();
+        Adviser adviser = new Adviser("Nursat");
+        db.setAdviser(adviser);
+        db.getCredentials().enroll(CredentialStore.Role.ADVISER, "Nursat", "SayNo");
+        String[] names = new String[studentCount];
+        String[] tokens = new String[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+            student.addSubject(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0)));
+            student.addSubject(new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0)));
+            student.addObserver(adviser);
+            db.addStudent(student);
+            names[i] = student.getName();
+            tokens[i] = db.getSessions().issue(CredentialStore.Role.STUDENT, names[i]);
+        }
+
+        try (GradingServer server = GradingServer.start(db, 0)) {
+            String base = "http://localhost:" + server.getPort() + "/api/";
+            int login = send(base + "login", null, "{\"role\":\"adviser\",\"name\":\"Nursat\",\"password\":\"SayNo\"}");
+            console.printf("students=%d clients=%d seconds=%d writes=%d%% port=%d login=%d%n",
+                    studentCount, clients, seconds, writePercent, server.getPort(), login);
+
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            String[] reads = {"report", "retake", "scholarship"};
+            ExecutorService pool = Executors.newFixedThreadPool(clients);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            AtomicLong failures = new AtomicLong();
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int seed = c;
+                futures.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    long[] latencies = new long[1 << 16];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        // Clients own disjoint slices of the cohort, as separate users would.
+                        int index = seed + clients * random.nextInt(Math.max(1, studentCount / clients));
+                        index = Math.min(index, studentCount - 1);
+                        boolean write = random.nextInt(100) < writePercent;
+                        String url = base + "students/" + names[index] + "/" + (write ? "grades" : reads[random.nextInt(reads.length)]);
+                        long begin = System.nanoTime();
+                        int status = send(url, tokens[index], write ? "{\"subject\":\"Calculus\",\"category\":\"Quiz\",\"score\":0.5}" : null);
+                        // 422 is a grade over the maximum: answered correctly, just not applied.
+                        if (status != 200 && status != 422) {
+                            failures.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - begin;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                long[] merged = Arrays.copyOf(all, all.length + part.length);
+                System.arraycopy(part, 0, merged, all.length, part.length);
+                all = merged;
+            }
+            pool.shutdown();
+            System.setOut(console);
+            Arrays.sort(all);
+            System.out.printf("requests %,12.0f req/s  p50 %8.3f ms  p99 %8.3f ms  failures %d%n", all.length / (double) seconds,
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, failures.get());
+        }
+    }
+
+    // Sends one request (a POST when there is a body) and drains the response so the connection is reused.
+    private static int send(String url, String token, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        if (token != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                in.readAllBytes();
+            }
+        }
+        return status;
+    }
+}
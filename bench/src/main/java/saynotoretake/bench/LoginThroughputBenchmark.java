@@ -0,0 +1,86 @@
+package saynotoretake.bench;
+
+/**
+ * Login throughput and latency benchmark for `CredentialStore` and `SessionTokens`.
+ *
+ * Enrolls a cohort of students, then has `clients` threads log in back to back through
+ * `verifyAsync` (the path the UI uses) for a fixed time, and reports logins/s with p50/p99 latency.
+ * Afterwards the same clients validate session tokens, which is what every action after a login costs.
+ *
+ * Usage: java LoginThroughputBenchmark [students] [clients] [seconds] [iterations]
+ */
+
+import saynotoretake.core.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LoginThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 4 * Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : CredentialStore.DEFAULT_ITERATIONS;
+
+        CredentialStore credentials = new CredentialStore(iterations, Runtime.getRuntime().availableProcessors());
+        SessionTokens sessions = new SessionTokens(TimeUnit.MINUTES.toMillis(30));
+        // Enrolling each student would cost one hash apiece; the cohort shares one credential instead.
+        Credential shared = Credential.create("12345", iterations);
+        for (int i = 0; i < studentCount; i++) {
+            credentials.put(CredentialStore.Role.STUDENT, "Student" + i, shared);
+        }
+        System.out.printf("students=%d clients=%d seconds=%d iterations=%d%n", studentCount, clients, seconds, iterations);
+
+        run("login", clients, seconds, random -> {
+            String name = "Student" + random.nextInt(studentCount);
+            return credentials.verifyAsync(CredentialStore.Role.STUDENT, name, "12345").join();
+        });
+        String[] tokens = new String[1024];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = sessions.issue(CredentialStore.Role.STUDENT, "Student" + i);
+        }
+        run("session", clients, Math.max(1, seconds / 5), random -> sessions.validate(tokens[random.nextInt(tokens.length)]) != null);
+    }
+
+    private interface Attempt {
+        boolean run(Random random) throws Exception;
+    }
+
+    private static void run(String label, int clients, int seconds, Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong failures = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int seed = c;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                long[] latencies = new long[1 << 16];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    if (!attempt.run(random)) {
+                        failures.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] part = future.get();
+            long[] merged = Arrays.copyOf(all, all.length + part.length);
+            System.arraycopy(part, 0, merged, all.length, part.length);
+            all = merged;
+        }
+        pool.shutdown();
+        Arrays.sort(all);
+        System.out.printf("%-8s %,12.0f ops/s  p50 %8.3f ms  p99 %8.3f ms  failures %d%n", label, all.length / (double) seconds,
+                all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, failures.get());
+    }
+}
@@ -0,0 +1,106 @@
+package saynotoretake.bench;
+
+/**
+ * Cross-JVM round-trip check for `DatabaseSnapshot`.
+ *
+ * Builds a cohort with several subject schemas and random scores, writes a snapshot, then starts
+ * `readers` fresh JVMs that open the file and print every student's scores per category. Each JVM interns
+ * its schemas in its own (randomized) slot order, so a reader that placed scores by position instead of
+ * by stored category would disagree with the writer. Any difference is printed and the process exits
+ * with status 1.
+ *
+ * Usage: java SnapshotRoundTripCheck [students] [readers]
+ */
+
+import saynotoretake.core.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class SnapshotRoundTripCheck {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("read")) {
+            read(Paths.get(args[1]));
+            return;
+        }
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int readers = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        Database db = Database.getInstance();
+        db.setAdviser(new Adviser("Nursat"));
+        Random random = new Random(7);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student("Nursat", "Student" + i, new ArrayList<>());
+            student.addSubject(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0)));
+            student.addSubject(new BonusDecoratorSubject(new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0, "Final", 40.0)), 3.0));
+            student.addSubject(new BaseSubject("Data Structure and Algorithms", Map.of("Home work", 30.0, "Contest", 30.0, "Quiz", 10.0, "Final", 30.0)));
+            for (Subject subject : student.getSubjects()) {
+                for (String category : subject.getMaxPoints().keySet()) {
+                    subject.tryAddGrade(category, random.nextInt((int) (double) subject.getMaxPoints().get(category) + 1));
+                }
+            }
+            db.addStudent(student);
+            expected.add(describe(student));
+        }
+        Path file = Files.createTempFile("snapshot", ".bin");
+        DatabaseSnapshot.write(db, file, 0);
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        int failures = 0;
+        for (int r = 1; r <= readers; r++) {
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    SnapshotRoundTripCheck.class.getName(), "read", file.toString())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            List<String> actual = new ArrayList<>();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    actual.add(line);
+                }
+            }
+            process.waitFor();
+            int mismatches = 0;
+            for (int i = 0; i < expected.size(); i++) {
+                String line = i < actual.size() ? actual.get(i) : "<missing>";
+                if (!expected.get(i).equals(line)) {
+                    if (mismatches++ == 0) {
+                        System.out.println("  wrote: " + expected.get(i));
+                        System.out.println("  read:  " + line);
+                    }
+                }
+            }
+            System.out.printf("reader JVM %d: %d of %d students differ%n", r, mismatches, expected.size());
+            failures += mismatches > 0 || actual.size() != expected.size() ? 1 : 0;
+        }
+        Files.deleteIfExists(file);
+        if (failures > 0) {
+            System.exit(1);
+        }
+        System.out.println("every reader JVM read back what was written");
+    }
+
+    private static void read(Path file) throws IOException {
+        DatabaseSnapshot snapshot = DatabaseSnapshot.open(file);
+        Database db = Database.getInstance();
+        db.attachSnapshot(snapshot);
+        PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        for (int i = 0; i < snapshot.getStudentCount(); i++) {
+            out.println(describe(db.getStudent("Student" + i)));
+        }
+        out.flush();
+    }
+
+    // Category order is sorted so the text does not depend on the JVM's slot order.
+    private static String describe(Student student) {
+        StringBuilder text = new StringBuilder(student.getName());
+        for (Subject subject : student.getSubjects()) {
+            text.append(" | ").append(subject.getName()).append(' ').append(new TreeMap<>(subject.getGrades()))
+                    .append(" total=").append(subject.getTotalScore());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package saynotoretake.core;
+
+/**
+ * The Adviser class implements the User interface and the Observer interface, providing methods for
+ * authentication(Proxy pattern), updating reports, and receiving notifications about student grades(Observer).
+ * Its password lives in the database's `CredentialStore`, like the students' ones.
+ * Each student's report is cached; a notification only drops the cache entry of the student that
+ * sent it, and the adviser view is assembled from the cached fragments. A dropped notification
+ * (`missed`) drops the entry as well, and a student replaced in the database is forgotten.
+ * The front end is told which student changed through `setReportsListener`; the listener runs on the
+ * notifying thread, so it should only hand the student on (see `RefreshScheduler`).
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+public class Adviser implements User, Observer {
+    private String name;
+    private volatile Consumer<Student> reportsListener;
+    private final Map<Student, String> reportCache = new ConcurrentHashMap<>();
+
+    public Adviser(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean authentication(String name, String password) {
+        return this.name.equals(name)
+                && Database.getInstance().getCredentials().verify(CredentialStore.Role.ADVISER, name, password);
+    }
+
+
+    // The listener is whatever the front end registered (the FX UI passes a RefreshScheduler); none by default.
+    public void setReportsListener(Consumer<Student> reportsListener) {
+        this.reportsListener = reportsListener;
+    }
+
+    /**
+     * Builds the adviser view for this adviser's students. Only students whose cache entry was
+     * dropped since the last call regenerate their report; everyone else is reused as-is.
+     */
+    public String renderReports() {
+        StringBuilder reports = new StringBuilder();
+        forEachReport((student, report) -> reports.append(report).append("\n\n"));
+        return reports.toString();
+    }
+
+    // The same cached reports one student at a time, for callers that lay them out themselves.
+    public void forEachReport(BiConsumer<Student, String> action) {
+        for (Student student : Database.getInstance().getStudentsOfAdviser(name)) {
+            action.accept(student, reportCache.computeIfAbsent(student, Student::generateReport));
+        }
+    }
+
+    
+   /**
+    * The update method(method of Observer) in Java notifies the adviser about a student adding a grade and then
+    * updates reports.
+    * The `student` parameter in the `update` method represents an instance of the
+    * `Student` class. It is used to update information related to a student, such as adding a
+    * grade. Only that student's cached report is invalidated.
+    */
+
+    @Override
+    public void update(Student student) {
+        invalidate(student);
+    }
+
+    // A whole batch costs one cache drop and one listener call, like a single grade.
+    @Override
+    public void update(Student student, GradeBatch.Summary summary) {
+        invalidate(student);
+    }
+
+    // The notification was dropped: the report is regenerated on next use, the listener is not called.
+    @Override
+    public void missed(Student student) {
+        reportCache.remove(student);
+    }
+
+    // Called by the database when `student` is replaced by a new object under the same name.
+    void forget(Student student) {
+        student.removeObserver(this);
+        reportCache.remove(student);
+    }
+
+    private void invalidate(Student student) {
+        reportCache.remove(student);
+        Consumer<Student> listener = reportsListener;
+        if (listener != null) {
+            listener.accept(student);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+}
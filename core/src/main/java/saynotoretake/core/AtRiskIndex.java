@@ -0,0 +1,160 @@
+package saynotoretake.core;
+
+/**
+ * Class: AtRiskIndex
+ * Pattern: Observer
+ *
+ * Purpose:
+ * Keeps every (student, subject) pair ordered by retake shortfall (`passScore - getTotalScore()`), so
+ * "who is most likely to retake right now" is a walk over the head of a sorted set instead of a scan
+ * of every report.
+ *
+ * Key Points:
+ * - Entries live in a ConcurrentSkipListSet ordered by shortfall, largest first; a grade change
+ *   replaces the subject's entry, an O(log n) remove and insert.
+ * - `current` maps each subject object to its entry; the total is read and the entry replaced inside
+ *   `compute`, so two updates of the same subject cannot leave two entries or a stale total behind.
+ * - The index is registered as an observer on every indexed student and rescans that student's
+ *   subjects on `update`; subjects added since the last scan are picked up there.
+ * - `topK` and `below` only touch the entries they return: `below` is a live view of the set.
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class AtRiskIndex implements Observer {
+
+    public static final class Entry {
+        private final Student student;
+        private final Subject subject;
+        private final double shortfall;
+        private final long sequence;
+
+        private Entry(Student student, Subject subject, double shortfall, long sequence) {
+            this.student = student;
+            this.subject = subject;
+            this.shortfall = shortfall;
+            this.sequence = sequence;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public Subject getSubject() {
+            return subject;
+        }
+
+        // Points missing to pass; zero or negative once the subject is passed.
+        public double getShortfall() {
+            return shortfall;
+        }
+
+        @Override
+        public String toString() {
+            return student.getName() + " - " + subject.getName() + ": " + shortfall + " points short";
+        }
+    }
+
+    // Largest shortfall first; equal shortfalls keep insertion order, and a probe with the smallest
+    // sequence sorts before every real entry of the same shortfall.
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        int byShortfall = Double.compare(b.shortfall, a.shortfall);
+        return byShortfall != 0 ? byShortfall : Long.compare(a.sequence, b.sequence);
+    };
+
+    private final double passScore;
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Subject, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public AtRiskIndex(double passScore) {
+        this.passScore = passScore;
+    }
+
+    public double getPassScore() {
+        return passScore;
+    }
+
+    public void add(Student student) {
+        student.addObserver(this);
+        index(student);
+    }
+
+    public void remove(Student student) {
+        student.removeObserver(this);
+        for (Subject subject : student.getSubjects()) {
+            current.computeIfPresent(subject, (k, entry) -> {
+                entries.remove(entry);
+                return null;
+            });
+        }
+    }
+
+    // Drops the students that are no longer in `students`, e.g. replaced while the index was being filled.
+    void retainAll(Collection<Student> students) {
+        for (Entry entry : current.values()) {
+            if (!students.contains(entry.student)) {
+                remove(entry.student);
+            }
+        }
+    }
+
+    @Override
+    public void update(Student student) {
+        index(student);
+    }
+
+    // Re-reading the student's totals is cheap, so a dropped notification is handled like a delivered one.
+    @Override
+    public void missed(Student student) {
+        index(student);
+    }
+
+    private void index(Student student) {
+        for (Subject subject : student.getSubjects()) {
+            // The total is read inside `compute`: read before it, a stale total could be written after a
+            // newer one by a concurrent update of the same subject and stay in the index.
+            current.compute(subject, (k, previous) -> {
+                double shortfall = passScore - subject.getTotalScore();
+                if (previous != null && previous.shortfall == shortfall) {
+                    return previous;
+                }
+                if (previous != null) {
+                    entries.remove(previous);
+                }
+                Entry entry = new Entry(student, subject, shortfall, sequence.incrementAndGet());
+                entries.add(entry);
+                return entry;
+            });
+        }
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    // The k pairs with the largest shortfall, passed subjects included if fewer than k are at risk.
+    public List<Entry> topK(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, 1024));
+        for (Entry entry : entries) {
+            if (result.size() == k) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    // Live view of the pairs whose total is below `score`, largest shortfall first.
+    public NavigableSet<Entry> below(double score) {
+        return entries.headSet(new Entry(null, null, passScore - score, Long.MIN_VALUE), false);
+    }
+
+    // Live view of the pairs below the pass mark.
+    public NavigableSet<Entry> atRisk() {
+        return below(passScore);
+    }
+}
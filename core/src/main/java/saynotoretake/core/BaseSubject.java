@@ -0,0 +1,138 @@
+package saynotoretake.core;
+
+/**
+* The 'BaseSubject' class implements the 'Subject' interface.
+* It represents a subject with its name, categories, and associated grades.
+* It allows adding grades to different categories and calculating the total score for the subject.
+* Categories and maximum points come from a shared 'GradeSchema'; the scores are kept in a
+* double[] so getGrades()/getMaxPoints() are read-only views rather than per-student HashMaps.
+* The total is kept up to date by addGrade, so getTotalScore() is a single field read.
+* Every applied grade bumps 'version' after the scores are written.
+* Grades may be added from many threads at once without a lock: each category score is raised with a
+* compare-and-set retry loop that re-checks the maximum on every attempt, so no update is lost and a
+* category never exceeds its maximum. The running total and the version follow with their own atomic
+* updates once the category score has been claimed.
+*/
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+
+public class BaseSubject implements Subject {
+    private static final VarHandle SCORES = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle RUNNING_TOTAL;
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            RUNNING_TOTAL = lookup.findVarHandle(BaseSubject.class, "runningTotal", double.class);
+            VERSION = lookup.findVarHandle(BaseSubject.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String name;
+    private final GradeSchema schema;
+    private final double[] scores;
+    private volatile double runningTotal;
+    private volatile long version;
+
+    public BaseSubject(String name, Map<String, Double> maxPoints) {
+        this(name, GradeSchema.of(maxPoints));
+    }
+
+    public BaseSubject(String name, GradeSchema schema) {
+        this.name = name;
+        this.schema = schema;
+        this.scores = new double[schema.size()];
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public GradeSchema getSchema() {
+        return schema;
+    }
+
+    // A refusal is reported through the return value only; the caller decides what to tell the user.
+    @Override
+    public boolean addGrade(String category, double totalScore) {
+        return tryAddGrade(category, totalScore);
+    }
+
+    @Override
+    public boolean tryAddGrade(String category, double totalScore) {
+        return tryAddGrade(schema.slotOf(category), totalScore);
+    }
+
+    @Override
+    public boolean tryAddGrade(int slot, double totalScore) {
+        return slot >= 0 && !Double.isNaN(accumulate(slot, totalScore));
+    }
+
+    @Override
+    public int slotOf(String category) {
+        return schema.slotOf(category);
+    }
+
+    @Override
+    public String categoryAt(int slot) {
+        return schema.category(slot);
+    }
+
+    @Override
+    public double getScore(int slot) {
+        return (double) SCORES.getVolatile(scores, slot);
+    }
+
+    // Returns the category's score that the compare-and-set replaced, or NaN if the grade is not a finite
+    // number or would push the category over the maximum. A failed compare-and-set means another grade
+    // landed first; the loop re-reads and checks the maximum again.
+    @Override
+    public double accumulate(int slot, double amount) {
+        if (!Double.isFinite(amount)) {
+            return Double.NaN;
+        }
+        double maxScore = schema.maxPoints(slot);
+        double current;
+        double updated;
+        do {
+            current = (double) SCORES.getVolatile(scores, slot);
+            updated = current + amount;
+            if (updated > maxScore) {
+                return Double.NaN;
+            }
+        } while (!SCORES.compareAndSet(scores, slot, current, updated));
+
+        double total;
+        do {
+            total = runningTotal;
+        } while (!RUNNING_TOTAL.compareAndSet(this, total, total + amount));
+        VERSION.getAndAdd(this, 1L);
+        return current;
+    }
+
+    @Override
+    public double getTotalScore() {
+        return runningTotal;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Map<String, Double> getGrades() {
+        return new ColumnView(schema, scores);
+    }
+
+    @Override
+    public Map<String, Double> getMaxPoints() {
+        return schema.getMaxPoints();
+    }
+}
@@ -0,0 +1,92 @@
+package saynotoretake.core;
+
+/**
+ * The BonusDecoratorSubject class demonstrates the Decorator pattern.
+ * It dynamically adds bonus points to a Subject without modifying the original subject's implementation.
+ * This pattern promotes open-closed design by allowing extension of functionality.
+ * Decorating a decorator does not add another layer: the bonuses are summed into one offset
+ * on top of the undecorated subject, so a total is one hop away however often it is decorated.
+ */
+
+import java.util.*;
+
+public class BonusDecoratorSubject implements Subject {
+    private final Subject subject;
+    private final double bonus;
+
+    public BonusDecoratorSubject(Subject subject, double bonus) {
+        if (subject instanceof BonusDecoratorSubject) {
+            BonusDecoratorSubject decorated = (BonusDecoratorSubject) subject;
+            this.subject = decorated.subject;
+            this.bonus = decorated.bonus + bonus;
+        } else {
+            this.subject = subject;
+            this.bonus = bonus;
+        }
+    }
+
+    public double getBonus() {
+        return bonus;
+    }
+
+    @Override
+    public String getName() {
+        return subject.getName();
+    }
+
+    @Override
+    public boolean addGrade(String category, double totalScore) {
+        return subject.addGrade(category, totalScore);
+    }
+
+    @Override
+    public boolean tryAddGrade(String category, double totalScore) {
+        return subject.tryAddGrade(category, totalScore);
+    }
+
+    @Override
+    public boolean tryAddGrade(int slot, double totalScore) {
+        return subject.tryAddGrade(slot, totalScore);
+    }
+
+    @Override
+    public double accumulate(int slot, double amount) {
+        return subject.accumulate(slot, amount);
+    }
+
+    @Override
+    public int slotOf(String category) {
+        return subject.slotOf(category);
+    }
+
+    @Override
+    public String categoryAt(int slot) {
+        return subject.categoryAt(slot);
+    }
+
+    @Override
+    public double getScore(int slot) {
+        return subject.getScore(slot);
+    }
+
+    @Override
+    public double getTotalScore() {
+        return subject.getTotalScore() + bonus;
+    }
+
+    // The bonus is fixed at construction, so only the wrapped subject's grades can change.
+    @Override
+    public long getVersion() {
+        return subject.getVersion();
+    }
+
+    @Override
+    public Map<String, Double> getGrades() {
+        return subject.getGrades();
+    }
+
+    @Override
+    public Map<String, Double> getMaxPoints() {
+        return subject.getMaxPoints();
+    }
+}
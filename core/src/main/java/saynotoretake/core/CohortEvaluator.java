@@ -0,0 +1,80 @@
+package saynotoretake.core;
+
+/**
+ * Class: CohortEvaluator
+ *
+ * Purpose:
+ * Evaluates retake risk, scholarship status and the extra threshold rules for every student in the
+ * `Database` at once and produces a `CohortSummary`.
+ *
+ * Key Points:
+ * - Students are never touched through `setStrategy`/`executeStrategy`; a stateless `CombinedEvaluator`
+ *   reads each student's subjects once, so no student is mutated and nothing is shared between tasks.
+ * - The cohort is split with fork/join down to `leafSize` students; each leaf reuses one `Evaluation`
+ *   buffer and one `CohortSummary`, so the per-student cost allocates nothing.
+ * - Scores are read as they are at the moment a leaf reaches a student; grades recorded during the run
+ *   may or may not be counted.
+ */
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class CohortEvaluator {
+
+    private static final int DEFAULT_LEAF_SIZE = 4096;
+
+    private final CombinedEvaluator evaluator;
+    private final ForkJoinPool pool;
+    private final int leafSize;
+
+    public CohortEvaluator() {
+        this(new CombinedEvaluator(), ForkJoinPool.commonPool(), DEFAULT_LEAF_SIZE);
+    }
+
+    public CohortEvaluator(CombinedEvaluator evaluator, ForkJoinPool pool, int leafSize) {
+        this.evaluator = evaluator;
+        this.pool = pool;
+        this.leafSize = Math.max(1, leafSize);
+    }
+
+    public CohortSummary evaluate(Database db) {
+        return evaluate(db.getAllStudents().toArray(new Student[0]));
+    }
+
+    public CohortSummary evaluate(Student[] students) {
+        return pool.invoke(new Slice(students, 0, students.length));
+    }
+
+    private final class Slice extends RecursiveTask<CohortSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final Student[] students;
+        private final int from;
+        private final int to;
+
+        Slice(Student[] students, int from, int to) {
+            this.students = students;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CohortSummary compute() {
+            if (to - from <= leafSize) {
+                CohortSummary summary = new CohortSummary(evaluator.getThresholds());
+                Evaluation result = new Evaluation();
+                for (int i = from; i < to; i++) {
+                    evaluator.evaluate(students[i], result);
+                    summary.add(result);
+                }
+                return summary;
+            }
+            int middle = (from + to) >>> 1;
+            Slice left = new Slice(students, from, middle);
+            left.fork();
+            CohortSummary right = new Slice(students, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package saynotoretake.core;
+
+/**
+ * The `CohortSummary` class holds the result of a cohort-wide evaluation (see `CohortEvaluator`):
+ * how many students were evaluated, how many are scholarship candidates, and per subject how many
+ * students are at risk of a retake, on track for a scholarship, or matched each extra rule of the
+ * `ThresholdTable` the cohort was evaluated with.
+ *
+ * Each fork/join leaf fills its own summary and the leaves are merged pairwise, so a summary is never
+ * shared between threads while it is being written.
+ */
+
+import java.util.*;
+
+public final class CohortSummary {
+
+    public static final class SubjectCounts {
+        private int evaluated;
+        private int atRisk;
+        private int onTrack;
+        private final int[] ruleMatches;
+
+        SubjectCounts(int ruleCount) {
+            this.ruleMatches = new int[ruleCount];
+        }
+
+        public int getEvaluated() {
+            return evaluated;
+        }
+
+        // Students below the pass mark, i.e. with a non-zero retake probability.
+        public int getAtRisk() {
+            return atRisk;
+        }
+
+        public int getOnTrack() {
+            return onTrack;
+        }
+
+        public int getRuleMatches(int rule) {
+            return ruleMatches[rule];
+        }
+    }
+
+    private final ThresholdTable thresholds;
+    private final Map<String, SubjectCounts> subjects = new HashMap<>();
+    private int studentCount;
+    private int atRiskStudents;
+    private int scholarshipCandidates;
+
+    CohortSummary(ThresholdTable thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    // Folds one student's evaluation (filled by a CombinedEvaluator on the same table) into the counts.
+    void add(Evaluation evaluation) {
+        boolean atRisk = false;
+        boolean candidate = evaluation.size() > 0;
+        for (int row = 0; row < evaluation.size(); row++) {
+            SubjectCounts counts = counts(evaluation.subject(row).getName());
+            counts.evaluated++;
+            if (evaluation.needsRetake(row)) {
+                counts.atRisk++;
+                atRisk = true;
+            }
+            if (evaluation.scholarshipStatus(row) == Evaluation.ScholarshipStatus.ON_TRACK) {
+                counts.onTrack++;
+            } else {
+                candidate = false;
+            }
+            for (long matches = evaluation.ruleMatches(row); matches != 0; matches &= matches - 1) {
+                counts.ruleMatches[Long.numberOfTrailingZeros(matches)]++;
+            }
+        }
+        studentCount++;
+        if (atRisk) {
+            atRiskStudents++;
+        }
+        if (candidate) {
+            scholarshipCandidates++;
+        }
+    }
+
+    CohortSummary merge(CohortSummary other) {
+        for (Map.Entry<String, SubjectCounts> entry : other.subjects.entrySet()) {
+            SubjectCounts from = entry.getValue();
+            SubjectCounts into = counts(entry.getKey());
+            into.evaluated += from.evaluated;
+            into.atRisk += from.atRisk;
+            into.onTrack += from.onTrack;
+            for (int rule = 0; rule < into.ruleMatches.length; rule++) {
+                into.ruleMatches[rule] += from.ruleMatches[rule];
+            }
+        }
+        studentCount += other.studentCount;
+        atRiskStudents += other.atRiskStudents;
+        scholarshipCandidates += other.scholarshipCandidates;
+        return this;
+    }
+
+    private SubjectCounts counts(String subject) {
+        SubjectCounts counts = subjects.get(subject);
+        if (counts == null) {
+            counts = new SubjectCounts(thresholds.getRuleCount());
+            subjects.put(subject, counts);
+        }
+        return counts;
+    }
+
+    public ThresholdTable getThresholds() {
+        return thresholds;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    // Students at risk in at least one subject.
+    public int getAtRiskStudents() {
+        return atRiskStudents;
+    }
+
+    // Students on track for a scholarship in every subject they take.
+    public int getScholarshipCandidates() {
+        return scholarshipCandidates;
+    }
+
+    public Map<String, SubjectCounts> getSubjects() {
+        return Collections.unmodifiableMap(subjects);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("\nCohort Summary (").append(studentCount).append(" students)\n");
+        result.append("At risk of a retake: ").append(atRiskStudents).append("\n");
+        result.append("Scholarship candidates: ").append(scholarshipCandidates).append("\n");
+        for (Map.Entry<String, SubjectCounts> entry : new TreeMap<>(subjects).entrySet()) {
+            SubjectCounts counts = entry.getValue();
+            result.append("- ").append(entry.getKey()).append(": ").append(counts.atRisk).append(" at risk, ")
+                    .append(counts.onTrack).append(" on track");
+            for (int rule = 0; rule < counts.ruleMatches.length; rule++) {
+                result.append(", ").append(counts.ruleMatches[rule]).append(" ").append(thresholds.getRuleName(rule));
+            }
+            result.append(" (of ").append(counts.evaluated).append(")\n");
+        }
+        return result.toString();
+    }
+}
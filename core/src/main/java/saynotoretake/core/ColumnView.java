@@ -0,0 +1,63 @@
+package saynotoretake.core;
+
+// Read-only Map view over one column of per-category values, used for getGrades()/getMaxPoints().
+
+import java.util.*;
+
+final class ColumnView extends AbstractMap<String, Double> {
+    private final GradeSchema schema;
+    private final double[] values;
+
+    ColumnView(GradeSchema schema, double[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && schema.slotOf((String) key) >= 0;
+    }
+
+    @Override
+    public Double get(Object key) {
+        int slot = key instanceof String ? schema.slotOf((String) key) : -1;
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public Set<Map.Entry<String, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return values.length;
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Double>> iterator() {
+                return new Iterator<>() {
+                    private int slot;
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < values.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Double> next() {
+                        if (slot >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, Double> entry = new AbstractMap.SimpleImmutableEntry<>(schema.category(slot), values[slot]);
+                        slot++;
+                        return entry;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package saynotoretake.core;
+
+/**
+ * Class: CombinedEvaluator
+ *
+ * Purpose:
+ * Computes retake risk, scholarship status and every extra `ThresholdTable` rule in one walk over a
+ * student's subjects, instead of one walk per strategy.
+ *
+ * Key Points:
+ * - Each subject total is read once and all columns of its `Evaluation` row are filled from it.
+ * - The filled evaluation can be rendered by `RetakeStrategy` and `ScholarshipStrategy` built on the
+ *   same table; `render` prints both followed by the matched rules.
+ */
+
+public class CombinedEvaluator implements Strategy {
+    private final ThresholdTable thresholds;
+    private final RetakeStrategy retake;
+    private final ScholarshipStrategy scholarship;
+
+    public CombinedEvaluator() {
+        this(ThresholdTable.getDefault());
+    }
+
+    public CombinedEvaluator(ThresholdTable thresholds) {
+        this.thresholds = thresholds;
+        this.retake = new RetakeStrategy(thresholds);
+        this.scholarship = new ScholarshipStrategy(thresholds);
+    }
+
+    public ThresholdTable getThresholds() {
+        return thresholds;
+    }
+
+    @Override
+    public void evaluate(Student student, Evaluation result) {
+        result.reset(student);
+        for (Subject subject : student.getSubjects()) {
+            double totalScore = subject.getTotalScore();
+            int row = result.addSubject(subject, totalScore);
+            result.setRetakeProbability(row, thresholds.retakeProbability(totalScore));
+            result.setScholarship(row, thresholds.scholarshipStatus(totalScore), thresholds.scholarshipGap(totalScore));
+            result.setRuleMatches(row, thresholds.matchRules(totalScore));
+        }
+    }
+
+    @Override
+    public String render(Evaluation evaluation) {
+        StringBuilder result = new StringBuilder();
+        result.append(retake.render(evaluation)).append(scholarship.render(evaluation));
+        if (thresholds.getRuleCount() > 0) {
+            result.append("\nRules for ").append(evaluation.getStudent().getName()).append("\n");
+            for (int row = 0; row < evaluation.size(); row++) {
+                result.append("- ").append(evaluation.subject(row).getName()).append(":");
+                if (evaluation.ruleMatches(row) == 0) {
+                    result.append(" none");
+                }
+                for (int rule = 0; rule < thresholds.getRuleCount(); rule++) {
+                    if (evaluation.matchesRule(row, rule)) {
+                        result.append(" ").append(thresholds.getRuleName(rule));
+                    }
+                }
+                result.append("\n");
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CombinedEvaluator && ((CombinedEvaluator) other).thresholds == thresholds;
+    }
+
+    @Override
+    public int hashCode() {
+        return CombinedEvaluator.class.hashCode() * 31 + System.identityHashCode(thresholds);
+    }
+}
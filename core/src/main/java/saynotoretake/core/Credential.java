@@ -0,0 +1,79 @@
+package saynotoretake.core;
+
+/**
+ * The `Credential` class is a salted PBKDF2-HMAC-SHA256 hash of one password. It never holds the
+ * password itself: `matches` derives the hash from the candidate and compares the two in constant
+ * time with `MessageDigest.isEqual`.
+ *
+ * The encoded form `pbkdf2-sha256$<iterations>$<salt>$<hash>` (Base64) is what the snapshot stores;
+ * each credential keeps its own iteration count, so raising the default does not invalidate old ones.
+ */
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+public final class Credential {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String SCHEME = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom random = new SecureRandom();
+
+    private final int iterations;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    private Credential(int iterations, byte[] salt, byte[] hash) {
+        this.iterations = iterations;
+        this.salt = salt;
+        this.hash = hash;
+    }
+
+    public static Credential create(String password, int iterations) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return new Credential(iterations, salt, derive(password, salt, iterations));
+    }
+
+    public boolean matches(String password) {
+        return MessageDigest.isEqual(hash, derive(password, salt, iterations));
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public String encode() {
+        Base64.Encoder base64 = Base64.getEncoder();
+        return SCHEME + "$" + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    // Returns null if the text is not an encoded credential.
+    public static Credential decode(String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(SCHEME)) {
+            return null;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            return new Credential(Integer.parseInt(parts[1]), base64.decode(parts[2]), base64.decode(parts[3]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package saynotoretake.core;
+
+/**
+ * Class: CredentialStore
+ *
+ * Purpose:
+ * Holds the salted password hashes of students and advisers, keyed by role and name for O(1) lookup,
+ * and verifies login attempts against them.
+ *
+ * Key Points:
+ * - Students and advisers no longer keep passwords; `User.authentication` asks this store.
+ * - An unknown name is checked against a dummy credential, so it costs the same hash as a wrong
+ *   password and response time does not reveal which names exist.
+ * - Hashing is deliberately slow, so `verifyAsync` runs it on a small pool of daemon threads sized to
+ *   the cores; the UI thread only waits for the answer. `getVerifier` exposes the same pool for work
+ *   that wraps a verification (lookup plus proxy checks).
+ * - `restore` accepts what a snapshot stored, which is always an encoded credential.
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class CredentialStore {
+
+    public enum Role { STUDENT, ADVISER }
+
+    // OWASP's recommended count for PBKDF2-HMAC-SHA256, a few hundred ms per check on current hardware;
+    // stored credentials keep the count they were made with.
+    public static final int DEFAULT_ITERATIONS = 600_000;
+
+    private final Map<Role, Map<String, Credential>> credentials = new EnumMap<>(Role.class);
+    private final int iterations;
+    private final Credential dummy;
+    private final ExecutorService verifier;
+
+    public CredentialStore(int iterations, int verifierThreads) {
+        for (Role role : Role.values()) {
+            credentials.put(role, new ConcurrentHashMap<>());
+        }
+        this.iterations = iterations;
+        this.dummy = Credential.create(UUID.randomUUID().toString(), iterations);
+        AtomicInteger ids = new AtomicInteger();
+        this.verifier = Executors.newFixedThreadPool(verifierThreads, r -> {
+            Thread thread = new Thread(r, "credential-verifier-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void enroll(Role role, String name, String password) {
+        put(role, name, Credential.create(password, iterations));
+    }
+
+    public void put(Role role, String name, Credential credential) {
+        credentials.get(role).put(name, credential);
+    }
+
+    public Credential get(Role role, String name) {
+        return credentials.get(role).get(name);
+    }
+
+    public void remove(Role role, String name) {
+        credentials.get(role).remove(name);
+    }
+
+    public void restore(Role role, String name, String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return;
+        }
+        Credential credential = Credential.decode(stored);
+        if (credential != null) {
+            put(role, name, credential);
+        } else {
+            System.out.println("Ignoring unreadable stored credential for " + name);
+        }
+    }
+
+    // The encoded credential for the snapshot, or "" if none is enrolled.
+    public String encoded(Role role, String name) {
+        Credential credential = get(role, name);
+        return credential == null ? "" : credential.encode();
+    }
+
+    public boolean verify(Role role, String name, String password) {
+        if (name == null || password == null) {
+            return false;
+        }
+        Credential credential = get(role, name);
+        boolean matches = (credential != null ? credential : dummy).matches(password);
+        return credential != null && matches;
+    }
+
+    public CompletableFuture<Boolean> verifyAsync(Role role, String name, String password) {
+        return CompletableFuture.supplyAsync(() -> verify(role, name, password), verifier);
+    }
+
+    public Executor getVerifier() {
+        return verifier;
+    }
+}
@@ -0,0 +1,252 @@
+package saynotoretake.core;
+
+/**
+ * Class: Database
+ * Pattern: Singleton
+ *
+ * Purpose:
+ * Ensures a single instance for centralized student and adviser data management.
+ *
+ * Key Points:
+ * - Provides global access to data.
+ * - Enforces the single instance via `getInstance`.
+ * - Students live in a ConcurrentHashMap, so reads are lock-free and writers only lock the
+ *   bin they touch; a secondary index maps each adviser name to that adviser's students.
+ * - With a `DatabaseSnapshot` attached, students are materialized from the snapshot the first
+ *   time they are looked up, so students nobody touches never become objects.
+ * - Passwords are kept as salted hashes in the `CredentialStore`; `SessionTokens` signs the sessions
+ *   handed out after a login.
+ * - Writers hold `gradeLock` (shared) from applying a grade until it is journaled; a checkpoint holds it
+ *   exclusively while it starts a new journal segment and copies the state, so a grade is never in both.
+ * - Each adviser's `AtRiskIndex` is built on first use from that adviser's group only, and published
+ *   once it is filled; from then on every added or materialized student of the adviser is indexed too.
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class Database {
+    private static final Database instance = new Database();
+    private final Map<String, Student> students = new ConcurrentHashMap<>();
+    private final Map<String, Set<Student>> studentsByAdviser = new ConcurrentHashMap<>();
+    private final Map<String, Adviser> advisers = new ConcurrentHashMap<>();
+    private final CredentialStore credentials = new CredentialStore(CredentialStore.DEFAULT_ITERATIONS, Runtime.getRuntime().availableProcessors());
+    private final SessionTokens sessions = new SessionTokens(TimeUnit.MINUTES.toMillis(30));
+    private volatile Adviser adviser;
+    private volatile GradeJournal journal;
+    private volatile GradeEventStream eventStream;
+    private volatile DatabaseSnapshot snapshot;
+    private final Set<String> loadedAdviserGroups = ConcurrentHashMap.newKeySet();
+    private final Map<String, Object> adviserGroupLocks = new ConcurrentHashMap<>();
+    private volatile boolean snapshotFullyLoaded;
+    private final Map<String, AtRiskIndex> atRiskIndexes = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+
+    // Package-private so tests can build a second, independent database, e.g. to reload a snapshot into.
+    Database() {}
+
+    public static Database getInstance() {
+        return instance;
+    }
+
+    // The student and the adviser index are updated inside the same compute call, so a
+    // concurrent re-add of the same name can never leave the index pointing at a stale object.
+    public void addStudent(Student student) {
+        Student[] replaced = new Student[1];
+        students.compute(student.getName(), (name, previous) -> {
+            if (previous == student) {
+                return student;
+            }
+            replaced[0] = previous;
+            if (previous != null) {
+                Set<Student> oldGroup = studentsByAdviser.get(previous.getAdviserName());
+                if (oldGroup != null) {
+                    oldGroup.remove(previous);
+                }
+            }
+            studentsByAdviser.computeIfAbsent(student.getAdviserName(), k -> ConcurrentHashMap.newKeySet()).add(student);
+            return student;
+        });
+        if (replaced[0] != null) {
+            Adviser oldAdviser = advisers.get(replaced[0].getAdviserName());
+            if (oldAdviser != null) {
+                oldAdviser.forget(replaced[0]);
+            }
+            AtRiskIndex oldIndex = atRiskIndexes.get(replaced[0].getAdviserName());
+            if (oldIndex != null) {
+                oldIndex.remove(replaced[0]);
+            }
+        }
+        AtRiskIndex index = atRiskIndexes.get(student.getAdviserName());
+        if (index != null) {
+            index.add(student);
+        }
+    }
+
+    public Student getStudent(String name) {
+        Student student = students.get(name);
+        DatabaseSnapshot source = snapshot;
+        if (student != null || source == null) {
+            return student;
+        }
+        int index = source.findStudent(name);
+        return index < 0 ? null : materialize(source, index);
+    }
+
+    public Collection<Student> getAllStudents() {
+        DatabaseSnapshot source = snapshot;
+        if (source != null && !snapshotFullyLoaded) {
+            for (int i = 0; i < source.getStudentCount(); i++) {
+                if (!students.containsKey(source.studentName(i))) {
+                    materialize(source, i);
+                }
+            }
+            snapshotFullyLoaded = true;
+        }
+        return students.values();
+    }
+
+    // A group is marked loaded only once all of its students are materialized. A caller that arrives while
+    // another thread loads the same group waits on the group's lock instead of returning a partial group.
+    public Collection<Student> getStudentsOfAdviser(String adviserName) {
+        DatabaseSnapshot source = snapshot;
+        if (source != null && !snapshotFullyLoaded && !loadedAdviserGroups.contains(adviserName)) {
+            synchronized (adviserGroupLocks.computeIfAbsent(adviserName, k -> new Object())) {
+                if (!loadedAdviserGroups.contains(adviserName)) {
+                    int[] range = source.adviserRange(adviserName);
+                    for (int i = range[0]; i < range[0] + range[1]; i++) {
+                        if (!students.containsKey(source.studentName(i))) {
+                            materialize(source, i);
+                        }
+                    }
+                    loadedAdviserGroups.add(adviserName);
+                }
+            }
+        }
+        Set<Student> group = studentsByAdviser.get(adviserName);
+        return group == null ? Collections.emptySet() : Collections.unmodifiableSet(group);
+    }
+
+    public DatabaseSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Attaches a snapshot: its advisers are registered right away, its students are loaded on first use.
+     */
+    public void attachSnapshot(DatabaseSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshot.loadAdvisers(this);
+    }
+
+    // A student loaded concurrently by two threads is kept once; the loser's copy is discarded.
+    // The winner's stored credential is restored into the credential store.
+    private Student materialize(DatabaseSnapshot source, int index) {
+        Student loaded = source.loadStudent(index);
+        Student[] winner = new Student[1];
+        students.compute(loaded.getName(), (name, previous) -> {
+            if (previous != null) {
+                winner[0] = previous;
+                return previous;
+            }
+            studentsByAdviser.computeIfAbsent(loaded.getAdviserName(), k -> ConcurrentHashMap.newKeySet()).add(loaded);
+            winner[0] = loaded;
+            return loaded;
+        });
+        if (winner[0] == loaded) {
+            credentials.restore(CredentialStore.Role.STUDENT, loaded.getName(), source.studentCredential(index));
+            Adviser adviser = advisers.get(loaded.getAdviserName());
+            if (adviser != null) {
+                loaded.addObserver(adviser);
+            }
+            AtRiskIndex riskIndex = atRiskIndexes.get(loaded.getAdviserName());
+            if (riskIndex != null) {
+                riskIndex.add(loaded);
+            }
+        }
+        return winner[0];
+    }
+
+    // Filled from the adviser's group before it is published. A student added or replaced while it was
+    // being filled saw no index, so the group is read once more after publishing to catch up; from then
+    // on addStudent and materialize keep the index current. Indexing a student twice is harmless.
+    public AtRiskIndex getAtRiskIndex(String adviserName) {
+        AtRiskIndex index = atRiskIndexes.get(adviserName);
+        if (index != null) {
+            return index;
+        }
+        synchronized (adviserGroupLocks.computeIfAbsent(adviserName, k -> new Object())) {
+            index = atRiskIndexes.get(adviserName);
+            if (index == null) {
+                index = new AtRiskIndex(ThresholdTable.getDefault().getPassScore());
+                for (Student student : getStudentsOfAdviser(adviserName)) {
+                    index.add(student);
+                }
+                atRiskIndexes.put(adviserName, index);
+                Collection<Student> group = getStudentsOfAdviser(adviserName);
+                for (Student student : group) {
+                    index.add(student);
+                }
+                index.retainAll(group);
+            }
+            return index;
+        }
+    }
+
+    public Adviser getAdviser(){
+        return adviser;
+    }
+
+    public Adviser getAdviser(String name) {
+        return advisers.get(name);
+    }
+
+    public Collection<Adviser> getAdvisers() {
+        return advisers.values();
+    }
+
+    public void addAdviser(Adviser adviser) {
+        advisers.put(adviser.getName(), adviser);
+    }
+
+    public void setAdviser(Adviser adviser){
+        addAdviser(adviser);
+        this.adviser = adviser;
+    }
+
+    public CredentialStore getCredentials() {
+        return credentials;
+    }
+
+    public SessionTokens getSessions() {
+        return sessions;
+    }
+
+    // Shared lock held by a writer from applying a grade until the grade is appended to the journal.
+    public Lock gradeLock() {
+        return checkpointLock.readLock();
+    }
+
+    // Exclusive side of `gradeLock`, held by `DatabaseSnapshot.checkpoint`.
+    Lock checkpointLock() {
+        return checkpointLock.writeLock();
+    }
+
+    public GradeJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(GradeJournal journal) {
+        this.journal = journal;
+    }
+
+    public GradeEventStream getEventStream() {
+        return eventStream;
+    }
+
+    public void setEventStream(GradeEventStream eventStream) {
+        this.eventStream = eventStream;
+    }
+}
@@ -0,0 +1,469 @@
+package saynotoretake.core;
+
+/**
+ * Class: DatabaseSnapshot
+ *
+ * Purpose:
+ * Fixed-layout binary image of the whole `Database` (advisers, students, subject schemas and scores)
+ * that is memory-mapped at startup and read lazily.
+ *
+ * Key Points:
+ * - Opening a snapshot only maps the file and reads the header; no Student or BaseSubject is built.
+ * - A student becomes a full object the first time `Database` asks for it (by name, or because its
+ *   adviser's students are listed). Students nobody touches stay as bytes in the page cache.
+ * - Students are stored grouped by adviser name, so one adviser's students are a contiguous range.
+ * - Credentials are stored as encoded salted hashes (`Credential.encode`), never as passwords.
+ * - The header records the first journal segment that is NOT contained in the snapshot. `checkpoint`
+ *   starts that segment and copies the database with `Database.gradeLock` held exclusively (writers
+ *   hold it from applying a grade until it is appended), so a grade is in the snapshot or in a later
+ *   segment, never in both.
+ *
+ * Layout (big-endian, offsets are absolute file positions):
+ *   header   64 bytes: magic, version, journalSegment, stringCount, stringTable, schemaCount, schemaTable,
+ *            groupCount, groupTable, adviserCount, adviserTable, defaultAdviser, studentCount, studentTable,
+ *            indexCapacity, indexTable
+ *   strings  [short length][UTF-8 bytes], addressed through an int[stringCount] offset table
+ *   schemas  [int n][n x (int categoryId, double maxPoints)], addressed through an int[schemaCount] table
+ *   groups   16 bytes each: adviserNameId, firstStudent, studentCount, unused
+ *   advisers 8 bytes each: nameId, credentialId
+ *   subjects [int nameId][int schemaId][double bonus][double x n scores, in the order of the schema record]
+ *   students 20 bytes each: nameId, adviserNameId, credentialId, subjectsOffset, subjectCount
+ *   index    int[indexCapacity] open-addressing table of studentIndex + 1 keyed by the name's hash
+ */
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+
+public class DatabaseSnapshot {
+
+    private static final int MAGIC = 0x534E5253;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int GROUP_SIZE = 16;
+    private static final int ADVISER_SIZE = 8;
+    private static final int STUDENT_SIZE = 20;
+
+    private final MappedByteBuffer buffer;
+    private final int journalSegment;
+    private final int stringTable;
+    private final int schemaTable;
+    private final int groupCount;
+    private final int groupTable;
+    private final int adviserCount;
+    private final int adviserTable;
+    private final int defaultAdviser;
+    private final int studentCount;
+    private final int studentTable;
+    private final int indexCapacity;
+    private final int indexTable;
+    private final StoredSchema[] schemas;
+
+    private DatabaseSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a SayNoToRETAKE snapshot (version " + VERSION + ")");
+        }
+        this.journalSegment = buffer.getInt(8);
+        this.stringTable = buffer.getInt(16);
+        this.schemas = new StoredSchema[buffer.getInt(20)];
+        this.schemaTable = buffer.getInt(24);
+        this.groupCount = buffer.getInt(28);
+        this.groupTable = buffer.getInt(32);
+        this.adviserCount = buffer.getInt(36);
+        this.adviserTable = buffer.getInt(40);
+        this.defaultAdviser = buffer.getInt(44);
+        this.studentCount = buffer.getInt(48);
+        this.studentTable = buffer.getInt(52);
+        this.indexCapacity = buffer.getInt(56);
+        this.indexTable = buffer.getInt(60);
+    }
+
+    public static DatabaseSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new DatabaseSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public int getJournalSegment() {
+        return journalSegment;
+    }
+
+    private String string(int id) {
+        int offset = buffer.getInt(stringTable + 4 * id);
+        int length = buffer.getShort(offset) & 0xffff;
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int id, byte[] expected) {
+        int offset = buffer.getInt(stringTable + 4 * id);
+        if ((buffer.getShort(offset) & 0xffff) != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(offset + 2 + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A schema record of the file: the interned `GradeSchema`, and for each score position in the file the
+     * slot that category has in that schema. The slot order of an interned schema depends on the JVM that
+     * built it, so scores are placed by their stored category, never by position.
+     */
+    private static final class StoredSchema {
+        final GradeSchema schema;
+        final int[] slots;
+
+        StoredSchema(GradeSchema schema, int[] slots) {
+            this.schema = schema;
+            this.slots = slots;
+        }
+    }
+
+    // Concurrent callers may both build a schema; GradeSchema.of interns them to the same instance.
+    private StoredSchema schema(int id) {
+        StoredSchema stored = schemas[id];
+        if (stored == null) {
+            int offset = buffer.getInt(schemaTable + 4 * id);
+            int size = buffer.getInt(offset);
+            String[] categories = new String[size];
+            Map<String, Double> maxPoints = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                int entry = offset + 4 + i * 12;
+                categories[i] = string(buffer.getInt(entry));
+                maxPoints.put(categories[i], buffer.getDouble(entry + 4));
+            }
+            GradeSchema schema = GradeSchema.of(maxPoints);
+            int[] slots = new int[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = schema.slotOf(categories[i]);
+            }
+            stored = new StoredSchema(schema, slots);
+            schemas[id] = stored;
+        }
+        return stored;
+    }
+
+    void loadAdvisers(Database db) {
+        for (int i = 0; i < adviserCount; i++) {
+            int record = adviserTable + i * ADVISER_SIZE;
+            Adviser adviser = new Adviser(string(buffer.getInt(record)));
+            db.getCredentials().restore(CredentialStore.Role.ADVISER, adviser.getName(), string(buffer.getInt(record + 4)));
+            if (i == defaultAdviser) {
+                db.setAdviser(adviser);
+            } else {
+                db.addAdviser(adviser);
+            }
+        }
+    }
+
+    /** Returns the record number of the student with this name, or -1. */
+    int findStudent(String name) {
+        if (indexCapacity == 0) {
+            return -1;
+        }
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int mask = indexCapacity - 1;
+        for (int slot = mix(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = buffer.getInt(indexTable + 4 * slot);
+            if (entry == 0) {
+                return -1;
+            }
+            if (stringEquals(buffer.getInt(studentTable + (entry - 1) * STUDENT_SIZE), key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    String studentName(int index) {
+        return string(buffer.getInt(studentTable + index * STUDENT_SIZE));
+    }
+
+    // The encoded credential of this student, or "" if none was enrolled.
+    String studentCredential(int index) {
+        return string(buffer.getInt(studentTable + index * STUDENT_SIZE + 8));
+    }
+
+    /** Returns {firstStudent, count} for this adviser name; the range is empty if the name is unknown. */
+    int[] adviserRange(String adviserName) {
+        byte[] key = adviserName.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < groupCount; i++) {
+            int record = groupTable + i * GROUP_SIZE;
+            if (stringEquals(buffer.getInt(record), key)) {
+                return new int[] {buffer.getInt(record + 4), buffer.getInt(record + 8)};
+            }
+        }
+        return new int[] {0, 0};
+    }
+
+    Student loadStudent(int index) {
+        int record = studentTable + index * STUDENT_SIZE;
+        Student student = new Student(string(buffer.getInt(record + 4)), string(buffer.getInt(record)), new ArrayList<>());
+        int offset = buffer.getInt(record + 12);
+        int subjectCount = buffer.getInt(record + 16);
+        for (int s = 0; s < subjectCount; s++) {
+            StoredSchema stored = schema(buffer.getInt(offset + 4));
+            BaseSubject subject = new BaseSubject(string(buffer.getInt(offset)), stored.schema);
+            double bonus = buffer.getDouble(offset + 8);
+            offset += 16;
+            for (int i = 0; i < stored.slots.length; i++, offset += 8) {
+                double score = buffer.getDouble(offset);
+                if (score != 0 && !subject.tryAddGrade(stored.slots[i], score)) {
+                    System.out.println("Snapshot score " + score + " for " + subject.getName() + "/"
+                            + stored.schema.category(stored.slots[i]) + " of " + student.getName() + " does not fit its maximum; skipped.");
+                }
+            }
+            student.addSubject(bonus == 0 ? subject : new BonusDecoratorSubject(subject, bonus));
+        }
+        return student;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Writes a snapshot of `db` to `path` (through a temporary file and an atomic rename), then drops the
+     * journal segments it contains. The new segment is started and the database copied into memory under
+     * the exclusive side of `Database.gradeLock`, so no grade is applied in between; grades journaled
+     * while the file is written go to the new segment and are replayed on top of the snapshot at the next start.
+     */
+    public static void checkpoint(Database db, GradeJournal journal, Path path) throws IOException {
+        int segment;
+        Image image;
+        Lock exclusive = db.checkpointLock();
+        exclusive.lock();
+        try {
+            segment = journal == null ? 0 : journal.startNewSegment();
+            image = capture(db);
+        } finally {
+            exclusive.unlock();
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        image.write(temp, segment);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (journal != null) {
+            journal.deleteSegmentsBefore(segment);
+        }
+    }
+
+    public static void write(Database db, Path path, int journalSegment) throws IOException {
+        capture(db).write(path, journalSegment);
+    }
+
+    // Copies everything the file needs out of the live objects, so the file itself can be written without
+    // holding any lock.
+    private static Image capture(Database db) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<GradeSchema, Integer> schemaIds = new LinkedHashMap<>();
+        List<Adviser> advisers = new ArrayList<>(db.getAdvisers());
+        CredentialStore credentials = db.getCredentials();
+        Map<String, List<Student>> groups = new TreeMap<>();
+        for (Student student : db.getAllStudents()) {
+            groups.computeIfAbsent(student.getAdviserName(), k -> new ArrayList<>()).add(student);
+        }
+
+        // Subjects first: they reference strings and schemas, which are collected on the way.
+        ByteArrayOutputStream subjectBytes = new ByteArrayOutputStream();
+        DataOutputStream subjects = new DataOutputStream(subjectBytes);
+        List<int[]> studentRecords = new ArrayList<>();
+        List<int[]> groupRecords = new ArrayList<>();
+        for (Map.Entry<String, List<Student>> group : groups.entrySet()) {
+            groupRecords.add(new int[] {intern(strings, group.getKey()), studentRecords.size(), group.getValue().size()});
+            for (Student student : group.getValue()) {
+                studentRecords.add(new int[] {intern(strings, student.getName()), intern(strings, student.getAdviserName()),
+                        intern(strings, credentials.encoded(CredentialStore.Role.STUDENT, student.getName())), subjects.size(), student.getSubjects().size()});
+                for (Subject subject : student.getSubjects()) {
+                    GradeSchema schema = GradeSchema.of(subject.getMaxPoints());
+                    Integer schemaId = schemaIds.get(schema);
+                    if (schemaId == null) {
+                        schemaId = schemaIds.size();
+                        schemaIds.put(schema, schemaId);
+                        for (int slot = 0; slot < schema.size(); slot++) {
+                            intern(strings, schema.category(slot));
+                        }
+                    }
+                    subjects.writeInt(intern(strings, subject.getName()));
+                    subjects.writeInt(schemaId);
+                    subjects.writeDouble(subject instanceof BonusDecoratorSubject
+                            ? ((BonusDecoratorSubject) subject).getBonus() : 0);
+                    Map<String, Double> grades = subject.getGrades();
+                    for (int slot = 0; slot < schema.size(); slot++) {
+                        subjects.writeDouble(grades.getOrDefault(schema.category(slot), 0.0));
+                    }
+                }
+            }
+        }
+        int defaultAdviser = -1;
+        int[][] adviserRecords = new int[advisers.size()][];
+        for (int i = 0; i < advisers.size(); i++) {
+            Adviser adviser = advisers.get(i);
+            adviserRecords[i] = new int[] {intern(strings, adviser.getName()), intern(strings, credentials.encoded(CredentialStore.Role.ADVISER, adviser.getName()))};
+            if (adviser == db.getAdviser()) {
+                defaultAdviser = i;
+            }
+        }
+        subjects.flush();
+        return new Image(strings, schemaIds, groupRecords, adviserRecords, defaultAdviser, subjectBytes, studentRecords);
+    }
+
+    private static final class Image {
+        final Map<String, Integer> strings;
+        final Map<GradeSchema, Integer> schemaIds;
+        final List<int[]> groupRecords;
+        final int[][] adviserRecords;
+        final int defaultAdviser;
+        final ByteArrayOutputStream subjectBytes;
+        final List<int[]> studentRecords;
+
+        Image(Map<String, Integer> strings, Map<GradeSchema, Integer> schemaIds, List<int[]> groupRecords, int[][] adviserRecords,
+                int defaultAdviser, ByteArrayOutputStream subjectBytes, List<int[]> studentRecords) {
+            this.strings = strings;
+            this.schemaIds = schemaIds;
+            this.groupRecords = groupRecords;
+            this.adviserRecords = adviserRecords;
+            this.defaultAdviser = defaultAdviser;
+            this.subjectBytes = subjectBytes;
+            this.studentRecords = studentRecords;
+        }
+
+        void write(Path path, int journalSegment) throws IOException {
+            try (CountingOutput out = new CountingOutput(path)) {
+                out.skip(HEADER_SIZE);
+
+                int[] stringOffsets = new int[strings.size()];
+                int id = 0;
+                for (String value : strings.keySet()) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    stringOffsets[id++] = out.position();
+                    out.data.writeShort(bytes.length);
+                    out.data.write(bytes);
+                }
+                int stringTable = out.position();
+                for (int offset : stringOffsets) {
+                    out.data.writeInt(offset);
+                }
+
+                int[] schemaOffsets = new int[schemaIds.size()];
+                id = 0;
+                for (GradeSchema schema : schemaIds.keySet()) {
+                    schemaOffsets[id++] = out.position();
+                    out.data.writeInt(schema.size());
+                    for (int slot = 0; slot < schema.size(); slot++) {
+                        out.data.writeInt(strings.get(schema.category(slot)));
+                        out.data.writeDouble(schema.maxPoints(slot));
+                    }
+                }
+                int schemaTable = out.position();
+                for (int offset : schemaOffsets) {
+                    out.data.writeInt(offset);
+                }
+
+                int groupTable = out.position();
+                for (int[] group : groupRecords) {
+                    out.data.writeInt(group[0]);
+                    out.data.writeInt(group[1]);
+                    out.data.writeInt(group[2]);
+                    out.data.writeInt(0);
+                }
+
+                int adviserTable = out.position();
+                for (int[] adviser : adviserRecords) {
+                    out.data.writeInt(adviser[0]);
+                    out.data.writeInt(adviser[1]);
+                }
+
+                int subjectArea = out.position();
+                subjectBytes.writeTo(out.data);
+
+                int studentTable = out.position();
+                for (int[] student : studentRecords) {
+                    out.data.writeInt(student[0]);
+                    out.data.writeInt(student[1]);
+                    out.data.writeInt(student[2]);
+                    out.data.writeInt(subjectArea + student[3]);
+                    out.data.writeInt(student[4]);
+                }
+
+                int indexCapacity = Integer.highestOneBit(Math.max(1, studentRecords.size()) * 2 - 1) << 1;
+                int[] index = new int[indexCapacity];
+                int mask = indexCapacity - 1;
+                List<String> names = new ArrayList<>(strings.keySet());
+                for (int i = 0; i < studentRecords.size(); i++) {
+                    int slot = mix(names.get(studentRecords.get(i)[0]).hashCode()) & mask;
+                    while (index[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    index[slot] = i + 1;
+                }
+                int indexTable = out.position();
+                for (int entry : index) {
+                    out.data.writeInt(entry);
+                }
+
+                out.writeHeader(new int[] {MAGIC, VERSION, journalSegment, strings.size(), stringTable, schemaIds.size(), schemaTable,
+                        groupRecords.size(), groupTable, adviserRecords.length, adviserTable, defaultAdviser, studentRecords.size(), studentTable,
+                        indexCapacity, indexTable});
+            }
+        }
+    }
+
+    private static int intern(Map<String, Integer> strings, String value) {
+        Integer id = strings.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.put(value, id);
+        }
+        return id;
+    }
+
+    // Sequential writer that knows its position and can patch the header once all offsets are known.
+    private static class CountingOutput implements Closeable {
+        private final FileChannel channel;
+        private final DataOutputStream data;
+
+        CountingOutput(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+        }
+
+        int position() {
+            return data.size();
+        }
+
+        void skip(int bytes) throws IOException {
+            data.write(new byte[bytes]);
+        }
+
+        void writeHeader(int[] fields) throws IOException {
+            data.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            for (int field : fields) {
+                header.putInt(field);
+            }
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            data.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package saynotoretake.core;
+
+/**
+ * The `Evaluation` class is a reusable result buffer for strategies. A strategy writes one row per
+ * subject (total score, retake probability, scholarship status and gap, matched `ThresholdTable`
+ * rules as a bit set) into primitive columns;
+ * turning the row into text is a separate, optional step (`Strategy.render`).
+ *
+ * The buffer is meant to be reused: `reset` keeps the arrays, so evaluating a whole cohort with one
+ * buffer allocates nothing per student once the arrays have grown to the largest subject count.
+ */
+
+import java.util.*;
+
+public final class Evaluation {
+
+    public enum ScholarshipStatus { ON_TRACK, NEEDS_FINAL, NEEDS_IMPROVEMENT }
+
+    private Student student;
+    private int size;
+    private Subject[] subjects = new Subject[8];
+    private double[] totalScores = new double[8];
+    private double[] retakeProbabilities = new double[8];
+    private ScholarshipStatus[] scholarshipStatuses = new ScholarshipStatus[8];
+    private double[] scholarshipGaps = new double[8];
+    private long[] ruleMatches = new long[8];
+
+    public void reset(Student student) {
+        this.student = student;
+        this.size = 0;
+    }
+
+    /** Starts a new row for this subject and returns its index. */
+    public int addSubject(Subject subject, double totalScore) {
+        if (size == subjects.length) {
+            int capacity = size * 2;
+            subjects = Arrays.copyOf(subjects, capacity);
+            totalScores = Arrays.copyOf(totalScores, capacity);
+            retakeProbabilities = Arrays.copyOf(retakeProbabilities, capacity);
+            scholarshipStatuses = Arrays.copyOf(scholarshipStatuses, capacity);
+            scholarshipGaps = Arrays.copyOf(scholarshipGaps, capacity);
+            ruleMatches = Arrays.copyOf(ruleMatches, capacity);
+        }
+        subjects[size] = subject;
+        totalScores[size] = totalScore;
+        retakeProbabilities[size] = 0;
+        scholarshipStatuses[size] = null;
+        scholarshipGaps[size] = 0;
+        ruleMatches[size] = 0;
+        return size++;
+    }
+
+    public void setRetakeProbability(int row, double probability) {
+        retakeProbabilities[row] = probability;
+    }
+
+    public void setScholarship(int row, ScholarshipStatus status, double gap) {
+        scholarshipStatuses[row] = status;
+        scholarshipGaps[row] = gap;
+    }
+
+    public void setRuleMatches(int row, long matches) {
+        ruleMatches[row] = matches;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Subject subject(int row) {
+        return subjects[row];
+    }
+
+    public double totalScore(int row) {
+        return totalScores[row];
+    }
+
+    // Percentage in [0, 100]; 0 means the subject is already passed.
+    public double retakeProbability(int row) {
+        return retakeProbabilities[row];
+    }
+
+    public boolean needsRetake(int row) {
+        return retakeProbabilities[row] > 0;
+    }
+
+    public ScholarshipStatus scholarshipStatus(int row) {
+        return scholarshipStatuses[row];
+    }
+
+    // Points still needed in the final; only meaningful for NEEDS_FINAL.
+    public double scholarshipGap(int row) {
+        return scholarshipGaps[row];
+    }
+
+    // Bit i is set when rule i of the evaluating ThresholdTable matched this subject.
+    public long ruleMatches(int row) {
+        return ruleMatches[row];
+    }
+
+    public boolean matchesRule(int row, int rule) {
+        return (ruleMatches[row] & (1L << rule)) != 0;
+    }
+}
@@ -0,0 +1,93 @@
+package saynotoretake.core;
+
+/**
+ * The `GradeBatch` class collects several (subject, category, score) entries for one student so they can
+ * be applied together with `Student.addGrades`: all of them or none, with a single observer notification.
+ * `Summary` is what comes back, and what observers receive: the grades that changed (as `GradeEvent`s)
+ * or, if the batch was refused, the reasons.
+ */
+
+import java.util.*;
+
+public final class GradeBatch {
+
+    static final class Entry {
+        final String subject;
+        final String category;
+        final double score;
+
+        Entry(String subject, String category, double score) {
+            this.subject = subject;
+            this.category = category;
+            this.score = score;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public GradeBatch add(String subjectName, String category, double score) {
+        entries.add(new Entry(subjectName, category, score));
+        return this;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    public static final class Summary {
+        private final Student student;
+        private final List<GradeEvent> changes;
+        private final List<String> errors;
+
+        Summary(Student student, List<GradeEvent> changes, List<String> errors) {
+            this.student = student;
+            this.changes = Collections.unmodifiableList(changes);
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public boolean isApplied() {
+            return errors.isEmpty();
+        }
+
+        public List<GradeEvent> getChanges() {
+            return changes;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        // Per subject, how much the batch added to its total.
+        public Map<String, Double> getDeltaBySubject() {
+            Map<String, Double> deltas = new LinkedHashMap<>();
+            for (GradeEvent change : changes) {
+                deltas.merge(change.getSubject(), change.getDelta(), Double::sum);
+            }
+            return deltas;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            if (!isApplied()) {
+                text.append("No grades applied for ").append(student.getName()).append(':');
+                errors.forEach(error -> text.append("\n- ").append(error));
+                return text.toString();
+            }
+            text.append(changes.size()).append(" grade(s) applied for ").append(student.getName()).append(':');
+            for (GradeEvent change : changes) {
+                text.append("\n- ").append(change.getSubject()).append('/').append(change.getCategory()).append(": ")
+                        .append(change.getOldScore()).append(" -> ").append(change.getNewScore());
+            }
+            return text.toString();
+        }
+    }
+}
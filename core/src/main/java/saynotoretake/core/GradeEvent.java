@@ -0,0 +1,53 @@
+package saynotoretake.core;
+
+/**
+ * The `GradeEvent` class describes one applied grade: which student, subject and category changed, and
+ * the category score before and after. Events are immutable and are delivered in batches by
+ * `GradeEventStream`, so consumers can apply the delta instead of re-reading the whole `Student`.
+ */
+
+public final class GradeEvent {
+    private final Student student;
+    private final String subject;
+    private final String category;
+    private final double oldScore;
+    private final double newScore;
+
+    public GradeEvent(Student student, String subject, String category, double oldScore, double newScore) {
+        this.student = student;
+        this.subject = subject;
+        this.category = category;
+        this.oldScore = oldScore;
+        this.newScore = newScore;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getOldScore() {
+        return oldScore;
+    }
+
+    public double getNewScore() {
+        return newScore;
+    }
+
+    // The points this grade added; the subject total moved by the same amount.
+    public double getDelta() {
+        return newScore - oldScore;
+    }
+
+    @Override
+    public String toString() {
+        return student.getName() + " " + subject + "/" + category + ": " + oldScore + " -> " + newScore;
+    }
+}
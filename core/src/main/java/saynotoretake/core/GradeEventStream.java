@@ -0,0 +1,202 @@
+package saynotoretake.core;
+
+/**
+ * Class: GradeEventStream
+ *
+ * Purpose:
+ * A typed stream of `GradeEvent`s on `java.util.concurrent.Flow`. Subscribers receive batches of
+ * deltas (student, subject, category, old and new score) instead of an untyped "something changed"
+ * callback.
+ *
+ * Key Points:
+ * - Built on `SubmissionPublisher`: every subscriber has its own bounded buffer and is only sent as
+ *   many batches as it has requested, so a slow subscriber never holds up a fast one.
+ * - Events are grouped into batches of up to `batchSize`; a partly filled batch is published after at
+ *   most `lingerMillis` by a daemon flusher thread.
+ * - When a subscriber's buffer is full, BLOCK makes the publishing thread wait for room and DROP
+ *   discards the batch for that subscriber and counts its events in `getDroppedCount`. CALLER_RUNS
+ *   has no meaning for a stream and behaves like BLOCK.
+ * - A full batch is taken under the lock that fills it but submitted after that lock is released, so
+ *   while one publisher waits under BLOCK the other threads keep adding events to the next batch. The
+ *   taker acquires the `handover` lock before releasing the fill lock, so batches still reach
+ *   subscribers in the order they were filled.
+ * - `hasSubscribers` counts live subscriptions itself instead of asking the `SubmissionPublisher`, which
+ *   holds its own lock while a submit waits for room and would block every publisher behind it.
+ * - With no subscribers `publish` returns at once, and `Student.addGrade` skips building the event.
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public final class GradeEventStream implements Flow.Publisher<List<GradeEvent>>, AutoCloseable {
+
+    private final SubmissionPublisher<List<GradeEvent>> publisher;
+    private final ExecutorService delivery;
+    private final ScheduledExecutorService flusher;
+    private final ObserverDispatcher.Backpressure backpressure;
+    private final int batchSize;
+    private final Object lock = new Object();
+    private final ReentrantLock handover = new ReentrantLock();
+    private List<GradeEvent> batch;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public GradeEventStream(int batchSize, long lingerMillis, int bufferCapacity, ObserverDispatcher.Backpressure backpressure) {
+        AtomicInteger ids = new AtomicInteger();
+        this.delivery = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "grade-events-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = new SubmissionPublisher<>(delivery, bufferCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "grade-events-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.backpressure = backpressure;
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        flusher.scheduleWithFixedDelay(this::flush, lingerMillis, lingerMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Counted before the publisher calls onSubscribe, so events published right after this call are kept.
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<GradeEvent>> subscriber) {
+        subscribers.incrementAndGet();
+        publisher.subscribe(new Counted(subscriber));
+    }
+
+    public boolean hasSubscribers() {
+        return subscribers.get() > 0;
+    }
+
+    public void publish(GradeEvent event) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        List<GradeEvent> full = null;
+        synchronized (lock) {
+            batch.add(event);
+            if (batch.size() >= batchSize) {
+                full = takeBatch();
+            }
+        }
+        if (full != null) {
+            deliver(full);
+        }
+    }
+
+    public void flush() {
+        List<GradeEvent> pending = null;
+        synchronized (lock) {
+            if (!batch.isEmpty()) {
+                pending = takeBatch();
+            }
+        }
+        if (pending != null) {
+            deliver(pending);
+        }
+    }
+
+    // Called with `lock` held; returns with `handover` held, which `deliver` releases. Only the one thread
+    // taking the next batch can wait here, because it still holds `lock`.
+    private List<GradeEvent> takeBatch() {
+        List<GradeEvent> events = Collections.unmodifiableList(batch);
+        batch = new ArrayList<>(batchSize);
+        handover.lock();
+        return events;
+    }
+
+    // Called with `handover` held and `lock` released.
+    private void deliver(List<GradeEvent> events) {
+        try {
+            if (publisher.isClosed()) {
+                return;
+            }
+            published.add(events.size());
+            if (backpressure == ObserverDispatcher.Backpressure.DROP) {
+                publisher.offer(events, (subscriber, rejected) -> {
+                    dropped.add(rejected.size());
+                    return false;
+                });
+            } else {
+                publisher.submit(events);
+            }
+        } finally {
+            handover.unlock();
+        }
+    }
+
+    // Passes everything through and takes the subscriber out of the count once it cancels, fails or completes.
+    private final class Counted implements Flow.Subscriber<List<GradeEvent>> {
+        private final Flow.Subscriber<? super List<GradeEvent>> target;
+        private final AtomicBoolean live = new AtomicBoolean(true);
+
+        Counted(Flow.Subscriber<? super List<GradeEvent>> target) {
+            this.target = target;
+        }
+
+        private void end() {
+            if (live.compareAndSet(true, false)) {
+                subscribers.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            target.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    end();
+                    subscription.cancel();
+                }
+            });
+        }
+
+        @Override
+        public void onNext(List<GradeEvent> events) {
+            target.onNext(events);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end();
+            target.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            end();
+            target.onComplete();
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    // Events lost to DROP, counted once per subscriber that missed them.
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Publishes what is still batched, then completes every subscriber.
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        flush();
+        publisher.close();
+        delivery.shutdown();
+    }
+}
@@ -0,0 +1,484 @@
+package saynotoretake.core;
+
+/**
+ * Class: GradeImporter
+ *
+ * Purpose:
+ * Streams end-of-term grade exports (CSV or NDJSON) into the `Database` without going through the UI.
+ *
+ * Key Points:
+ * - The file is memory-mapped one window at a time, so memory stays flat however large the file is.
+ * - Each window is cut into newline-aligned chunks that are parsed and resolved in parallel.
+ * - Students are resolved through `Database.getStudent`, subjects through `Student.getSubject` (the
+ *   student's index on the lower-cased subject name), and categories to slots once, while parsing.
+ * - Grades are applied chunk by chunk in file order with the slot-based `Subject.tryAddGrade`; every student touched
+ *   by a chunk is notified once after it. With a `GradeJournal` configured, the chunk's grades are
+ *   journaled and made durable with a single group commit before the notifications go out.
+ *   Applied rows are also published to the `GradeEventStream` when it has subscribers.
+ * - A bad row is reported with its line number and skipped; the import carries on. Scores must be
+ *   finite decimal numbers: "NaN", "Infinity" or a lone "." are bad rows, never applied.
+ *
+ * CSV rows:    student,subject,category,score   (an optional header line starting with "student" is skipped)
+ * NDJSON rows: {"student": "...", "subject": "...", "category": "...", "score": 12.5}
+ */
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+
+public class GradeImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
+    private final Database db;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxReportedErrors;
+
+    public GradeImporter(Database db) {
+        this(db, 8 * 1024 * 1024, Runtime.getRuntime().availableProcessors(), 1000);
+    }
+
+    public GradeImporter(Database db, int chunkSize, int parallelism, int maxReportedErrors) {
+        this.db = db;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public static class ImportError {
+        private final long line;
+        private final String message;
+
+        ImportError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    // Only the first `maxReportedErrors` errors are kept; `getErrorCount` is always exact.
+    public static class ImportResult {
+        private long rowsRead;
+        private long rowsApplied;
+        private long errorCount;
+        private final List<ImportError> errors = new ArrayList<>();
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsApplied() {
+            return rowsApplied;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public List<ImportError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+
+    public ImportResult importFile(Path file, Format format) throws IOException {
+        ImportResult result = new ImportResult();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long linesBefore = 0;
+            while (position < size) {
+                List<Future<ParsedChunk>> window = new ArrayList<>();
+                for (int i = 0; i < parallelism && position < size; i++) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min((long) chunkSize + MAX_LINE_LENGTH, size - position));
+                    int length = chunkLength(buffer, position, size);
+                    boolean firstChunk = position == 0;
+                    window.add(pool.submit(() -> parse(buffer, length, format, firstChunk)));
+                    position += length;
+                }
+                for (Future<ParsedChunk> future : window) {
+                    ParsedChunk chunk = await(future);
+                    apply(chunk, linesBefore, result);
+                    linesBefore += chunk.lines;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    private int chunkLength(MappedByteBuffer buffer, long position, long size) throws IOException {
+        if (position + chunkSize >= size) {
+            return (int) (size - position);
+        }
+        for (int i = chunkSize - 1; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new IOException("Line longer than " + MAX_LINE_LENGTH + " bytes near offset " + (position + chunkSize));
+    }
+
+    private static ParsedChunk await(Future<ParsedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to parse chunk", e.getCause());
+        }
+    }
+
+    /**
+     * One parsed chunk, stored column-wise. Rows that failed parsing or resolution keep a null
+     * subject and their error message, so errors can be reported with a file-wide line number later.
+     */
+    private static class ParsedChunk {
+        int rows;
+        int lines;
+        int[] lineOf = new int[1024];
+        Student[] students = new Student[1024];
+        Subject[] subjects = new Subject[1024];
+        String[] categories = new String[1024];
+        int[] slots = new int[1024];
+        double[] scores = new double[1024];
+        String[] errors = new String[1024];
+
+        void add(int line, Student student, Subject subject, int slot, double score, String error) {
+            if (rows == lineOf.length) {
+                int capacity = rows * 2;
+                lineOf = Arrays.copyOf(lineOf, capacity);
+                students = Arrays.copyOf(students, capacity);
+                subjects = Arrays.copyOf(subjects, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                slots = Arrays.copyOf(slots, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                errors = Arrays.copyOf(errors, capacity);
+            }
+            lineOf[rows] = line;
+            students[rows] = student;
+            subjects[rows] = subject;
+            categories[rows] = subject == null ? null : subject.categoryAt(slot);
+            slots[rows] = slot;
+            scores[rows] = score;
+            errors[rows] = error;
+            rows++;
+        }
+    }
+
+    private ParsedChunk parse(MappedByteBuffer buffer, int length, Format format, boolean firstChunk) {
+        ParsedChunk chunk = new ParsedChunk();
+        byte[] bytes = new byte[length];
+        buffer.get(0, bytes, 0, length);
+        String[] fields = new String[4];
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && bytes[end] != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            while (start < end && (bytes[start] & 0xff) <= ' ') {
+                start++;
+            }
+            while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+                end--;
+            }
+            chunk.lines++;
+            boolean header = firstChunk && chunk.lines == 1 && format == Format.CSV && isHeader(bytes, start, end);
+            if (end > start && !header) {
+                boolean parsed = format == Format.CSV
+                        ? splitCsv(bytes, start, end, fields)
+                        : parseJson(new String(bytes, start, end - start, StandardCharsets.UTF_8), fields);
+                resolveRow(chunk, chunk.lines, parsed ? fields : null);
+            }
+            start = next;
+        }
+        return chunk;
+    }
+
+    private static boolean isHeader(byte[] bytes, int start, int end) {
+        return end - start >= 7 && new String(bytes, start, 7, StandardCharsets.UTF_8).equalsIgnoreCase("student");
+    }
+
+    private void resolveRow(ParsedChunk chunk, int line, String[] fields) {
+        if (fields == null) {
+            chunk.add(line, null, null, -1, 0, "malformed row");
+            return;
+        }
+        double score;
+        try {
+            score = parseScore(fields[3]);
+        } catch (NumberFormatException e) {
+            chunk.add(line, null, null, -1, 0, "invalid score '" + fields[3] + "'");
+            return;
+        }
+        Student student = db.getStudent(fields[0]);
+        if (student == null) {
+            chunk.add(line, null, null, -1, 0, "unknown student '" + fields[0] + "'");
+            return;
+        }
+        Subject subject = student.getSubject(fields[1]);
+        if (subject == null) {
+            chunk.add(line, null, null, -1, 0, "unknown subject '" + fields[1] + "' for " + fields[0]);
+            return;
+        }
+        int slot = subject.slotOf(fields[2]);
+        if (slot < 0) {
+            chunk.add(line, null, null, -1, 0, "unknown category '" + fields[2] + "' in " + subject.getName());
+            return;
+        }
+        chunk.add(line, student, subject, slot, score, null);
+    }
+
+    // Plain decimals ("12", "7.5") are parsed by hand; anything else must look like a decimal number
+    // (optionally signed, with an exponent) and is handed to Double.parseDouble. "NaN", "Infinity", a lone
+    // "." and values that overflow to infinity are rejected, since they would poison the subject's total.
+    private static double parseScore(String text) {
+        long digits = 0;
+        int scale = -1;
+        boolean sawDigit = false;
+        int length = text.length();
+        if (length > 0 && length <= 15) {
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    digits = digits * 10 + (c - '0');
+                    sawDigit = true;
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else if (c == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    return parseDecimal(text);
+                }
+            }
+            if (!sawDigit) {
+                throw new NumberFormatException("no digits in '" + text + "'");
+            }
+            return scale <= 0 ? digits : digits / Math.pow(10, scale);
+        }
+        return parseDecimal(text);
+    }
+
+    private static double parseDecimal(String text) {
+        if (!DECIMAL.matcher(text).matches()) {
+            throw new NumberFormatException("not a decimal number: '" + text + "'");
+        }
+        double score = Double.parseDouble(text);
+        if (!Double.isFinite(score)) {
+            throw new NumberFormatException("out of range: '" + text + "'");
+        }
+        return score;
+    }
+
+    private void apply(ParsedChunk chunk, long linesBefore, ImportResult result) {
+        GradeJournal journal = db.getJournal();
+        Lock gradeLock = db.gradeLock();
+        GradeEventStream events = db.getEventStream();
+        boolean streaming = events != null && events.hasSubscribers();
+        long journaled = 0;
+        Set<Student> touched = new LinkedHashSet<>();
+        for (int i = 0; i < chunk.rows; i++) {
+            result.rowsRead++;
+            String error = chunk.errors[i];
+            if (error == null) {
+                double oldScore;
+                gradeLock.lock();
+                try {
+                    oldScore = chunk.subjects[i].accumulate(chunk.slots[i], chunk.scores[i]);
+                    if (!Double.isNaN(oldScore) && journal != null) {
+                        journaled = journal.append(chunk.students[i].getName(), chunk.subjects[i].getName(), chunk.categories[i], chunk.scores[i]);
+                    }
+                } finally {
+                    gradeLock.unlock();
+                }
+                if (!Double.isNaN(oldScore)) {
+                    if (streaming) {
+                        events.publish(new GradeEvent(chunk.students[i], chunk.subjects[i].getName(), chunk.categories[i], oldScore, oldScore + chunk.scores[i]));
+                    }
+                    result.rowsApplied++;
+                    touched.add(chunk.students[i]);
+                    continue;
+                }
+                error = "score " + chunk.scores[i] + " would exceed the maximum for " + chunk.subjects[i].getName() + "/" + chunk.categories[i];
+            }
+            result.errorCount++;
+            if (result.errors.size() < maxReportedErrors) {
+                result.errors.add(new ImportError(linesBefore + chunk.lineOf[i], error));
+            }
+        }
+        if (journal != null && journaled > 0) {
+            journal.awaitDurable(journaled);
+        }
+        for (Student student : touched) {
+            student.notifyObservers();
+        }
+    }
+
+    // student,subject,category,score; fields may be wrapped in double quotes but not contain commas.
+    private static boolean splitCsv(byte[] bytes, int start, int end, String[] fields) {
+        int field = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && bytes[i] != ',') {
+                continue;
+            }
+            if (field == fields.length) {
+                return false;
+            }
+            int from = fieldStart;
+            int to = i;
+            while (from < to && (bytes[from] & 0xff) <= ' ') {
+                from++;
+            }
+            while (to > from && (bytes[to - 1] & 0xff) <= ' ') {
+                to--;
+            }
+            if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+                from++;
+                to--;
+            }
+            fields[field++] = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+            fieldStart = i + 1;
+        }
+        return field == fields.length;
+    }
+
+    // Reads one flat JSON object and picks out the four known keys; unknown keys are ignored.
+    private static boolean parseJson(String text, String[] fields) {
+        Arrays.fill(fields, null);
+        int[] pos = {0};
+        skipWhitespace(text, pos);
+        if (!expect(text, pos, '{')) {
+            return false;
+        }
+        skipWhitespace(text, pos);
+        if (expect(text, pos, '}')) {
+            return false;
+        }
+        while (true) {
+            skipWhitespace(text, pos);
+            String key = readString(text, pos);
+            skipWhitespace(text, pos);
+            if (key == null || !expect(text, pos, ':')) {
+                return false;
+            }
+            skipWhitespace(text, pos);
+            String value = pos[0] < text.length() && text.charAt(pos[0]) == '"' ? readString(text, pos) : readLiteral(text, pos);
+            if (value == null) {
+                return false;
+            }
+            switch (key) {
+                case "student": fields[0] = value; break;
+                case "subject": fields[1] = value; break;
+                case "category": fields[2] = value; break;
+                case "score": fields[3] = value; break;
+                default: break;
+            }
+            skipWhitespace(text, pos);
+            if (expect(text, pos, ',')) {
+                continue;
+            }
+            if (expect(text, pos, '}')) {
+                break;
+            }
+            return false;
+        }
+        for (String field : fields) {
+            if (field == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void skipWhitespace(String text, int[] pos) {
+        while (pos[0] < text.length() && Character.isWhitespace(text.charAt(pos[0]))) {
+            pos[0]++;
+        }
+    }
+
+    private static boolean expect(String text, int[] pos, char c) {
+        if (pos[0] < text.length() && text.charAt(pos[0]) == c) {
+            pos[0]++;
+            return true;
+        }
+        return false;
+    }
+
+    private static String readLiteral(String text, int[] pos) {
+        int start = pos[0];
+        while (pos[0] < text.length() && ",} \t".indexOf(text.charAt(pos[0])) < 0) {
+            pos[0]++;
+        }
+        return pos[0] > start ? text.substring(start, pos[0]) : null;
+    }
+
+    private static String readString(String text, int[] pos) {
+        if (!expect(text, pos, '"')) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder();
+        while (pos[0] < text.length()) {
+            char c = text.charAt(pos[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (pos[0] >= text.length()) {
+                return null;
+            }
+            char escaped = text.charAt(pos[0]++);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (pos[0] + 4 > text.length()) {
+                        return null;
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(pos[0], pos[0] + 4), 16));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                    pos[0] += 4;
+                    break;
+                default: value.append(escaped); break;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,359 @@
+package saynotoretake.core;
+
+/**
+ * Class: GradeJournal
+ *
+ * Purpose:
+ * Append-only write-ahead log of grade events, so grades survive a restart of the application.
+ *
+ * Key Points:
+ * - Every applied grade (student, subject, category, delta) is appended as a small binary record to a
+ *   memory-mapped segment file. Names are written once as DEFINE records and referred to by id afterwards.
+ * - Durability uses group commit: `awaitDurable` lets the first waiting writer force the segment to disk
+ *   for everybody who appended before it, so concurrent writers share one fsync.
+ * - `open` replays the segments into the `Database`, then writes a checkpoint segment holding one net
+ *   record per (student, subject, category) and deletes the older segments. The checkpoint is written
+ *   and forced under a temporary name and renamed into place before anything is deleted.
+ *
+ * Record layout (big-endian), each followed by a CRC32 of the record:
+ *   DEFINE:     [1][int id][short length][UTF-8 bytes]
+ *   GRADE:      [2][int student][int subject][int category][double delta]
+ *   CHECKPOINT: [3]
+ * A zero type byte marks the unused tail of a segment; a bad CRC marks a torn write and ends the replay.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class GradeJournal implements AutoCloseable {
+
+    private static final byte DEFINE = 1;
+    private static final byte GRADE = 2;
+    private static final byte CHECKPOINT = 3;
+    private static final int GRADE_RECORD_SIZE = 1 + 4 + 4 + 4 + 8 + 4;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+
+    private int segmentNumber;
+    private MappedByteBuffer segment;
+    private long appended;
+
+    private final Object commitLock = new Object();
+    private long durable;
+
+    private GradeJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static GradeJournal open(Path directory, Database db) throws IOException {
+        return open(directory, db, 0);
+    }
+
+    public static GradeJournal open(Path directory, Database db, int firstSegment) throws IOException {
+        return open(directory, db, firstSegment, 64 * 1024 * 1024);
+    }
+
+    /**
+     * Replays every segment from the latest checkpoint on into `db`, then compacts them into a fresh
+     * checkpoint segment and returns a journal that appends after it. Segments numbered below
+     * `firstSegment` are already contained in the database snapshot and are skipped.
+     */
+    public static GradeJournal open(Path directory, Database db, int firstSegment, int segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        deleteUnfinishedCheckpoints(directory);
+        List<Path> segments = listSegments(directory);
+        int from = latestCheckpoint(segments);
+        while (from < segments.size() && segmentNumber(segments.get(from)) < firstSegment) {
+            from++;
+        }
+        Map<List<String>, Double> net = new LinkedHashMap<>();
+        for (Path path : segments.subList(from, segments.size())) {
+            replay(path, net);
+        }
+        for (Map.Entry<List<String>, Double> entry : net.entrySet()) {
+            List<String> key = entry.getKey();
+            Student student = db.getStudent(key.get(0));
+            Subject subject = student == null ? null : student.getSubject(key.get(1));
+            if (subject == null || !subject.tryAddGrade(key.get(2), entry.getValue())) {
+                System.out.println("Journal: could not restore " + key + " = " + entry.getValue());
+            }
+        }
+
+        // The checkpoint is written to a temporary file and renamed into place only once it is complete and
+        // on disk, so a crash part-way through never leaves a segment that starts with CHECKPOINT but lacks
+        // records. The old segments are deleted after the rename.
+        int checkpointNumber = segments.isEmpty() ? 1 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+        Path checkpoint = segmentPath(directory, checkpointNumber);
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + TEMPORARY_SUFFIX);
+        GradeJournal compacted = new GradeJournal(directory, checkpointSize(net));
+        compacted.map(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        compacted.writeCheckpointMarker();
+        for (Map.Entry<List<String>, Double> entry : net.entrySet()) {
+            List<String> key = entry.getKey();
+            compacted.append(key.get(0), key.get(1), key.get(2), entry.getValue());
+        }
+        compacted.segment.force();
+        Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+        for (Path path : segments) {
+            Files.deleteIfExists(path);
+        }
+
+        GradeJournal journal = new GradeJournal(directory, segmentSize);
+        journal.segmentNumber = checkpointNumber;
+        journal.roll();
+        return journal;
+    }
+
+    // Upper bound for the checkpoint segment: every record counted with its own DEFINE records, so the
+    // whole checkpoint fits in one file and never spills into a segment without the marker.
+    private static int checkpointSize(Map<List<String>, Double> net) {
+        long size = 1 + 4;
+        for (List<String> key : net.keySet()) {
+            size += GRADE_RECORD_SIZE;
+            for (String name : key) {
+                size += 1 + 4 + 2 + name.getBytes(StandardCharsets.UTF_8).length + 4;
+            }
+        }
+        return Math.toIntExact(size);
+    }
+
+    // Makes the rename itself durable; platforms that cannot open a directory for syncing are left as they are.
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported here
+        }
+    }
+
+    private static Path segmentPath(Path directory, int number) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingInt(GradeJournal::segmentNumber))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Temporary checkpoint files are left behind only by a compaction that crashed before its rename.
+    private static void deleteUnfinishedCheckpoints(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                if (path.getFileName().toString().endsWith(SEGMENT_SUFFIX + TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static int segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    // A crash after the checkpoint was renamed into place can leave old segments next to it; those are skipped.
+    // A crash before the rename leaves only a temporary file, which is not a segment.
+    private static int latestCheckpoint(List<Path> segments) throws IOException {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                if (channel.size() > 0 && channel.map(FileChannel.MapMode.READ_ONLY, 0, 1).get(0) == CHECKPOINT) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void replay(Path path, Map<List<String>, Double> net) throws IOException {
+        Map<Integer, String> names = new HashMap<>();
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() > 0) {
+                int start = buffer.position();
+                byte type = buffer.get();
+                int length;
+                if (type == DEFINE && buffer.remaining() >= 6) {
+                    int id = buffer.getInt();
+                    int size = buffer.getShort() & 0xffff;
+                    if (buffer.remaining() < size + 4) {
+                        break;
+                    }
+                    byte[] bytes = new byte[size];
+                    buffer.get(bytes);
+                    length = buffer.position() - start;
+                    if (!checksumMatches(buffer, start, length, crc)) {
+                        break;
+                    }
+                    names.put(id, new String(bytes, StandardCharsets.UTF_8));
+                } else if (type == GRADE && buffer.remaining() >= GRADE_RECORD_SIZE - 1) {
+                    String student = names.get(buffer.getInt());
+                    String subject = names.get(buffer.getInt());
+                    String category = names.get(buffer.getInt());
+                    double delta = buffer.getDouble();
+                    length = buffer.position() - start;
+                    if (!checksumMatches(buffer, start, length, crc) || student == null || subject == null || category == null) {
+                        break;
+                    }
+                    net.merge(List.of(student, subject.toLowerCase(Locale.ROOT), category), delta, Double::sum);
+                } else if (type == CHECKPOINT && buffer.remaining() >= 4) {
+                    if (!checksumMatches(buffer, start, 1, crc)) {
+                        break;
+                    }
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean checksumMatches(MappedByteBuffer buffer, int start, int length, CRC32 crc) {
+        if (buffer.remaining() < 4) {
+            return false;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start, length));
+        return (int) crc.getValue() == buffer.getInt();
+    }
+
+    /**
+     * Appends one grade event and returns its position in the journal; pass it to `awaitDurable`
+     * to wait until the event is on disk.
+     */
+    public synchronized long append(String student, String subject, String category, double delta) {
+        ensureRoom(defineSize(student) + defineSize(subject) + defineSize(category) + GRADE_RECORD_SIZE);
+        int studentId = idOf(student);
+        int subjectId = idOf(subject);
+        int categoryId = idOf(category);
+        int start = segment.position();
+        segment.put(GRADE).putInt(studentId).putInt(subjectId).putInt(categoryId).putDouble(delta);
+        return finishRecord(start);
+    }
+
+    private int defineSize(String name) {
+        return ids.containsKey(name) ? 0 : 1 + 4 + 2 + name.getBytes(StandardCharsets.UTF_8).length + 4;
+    }
+
+    private int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int newId = ids.size();
+        int start = segment.position();
+        segment.put(DEFINE).putInt(newId).putShort((short) bytes.length).put(bytes);
+        finishRecord(start);
+        ids.put(name, newId);
+        return newId;
+    }
+
+    private void writeCheckpointMarker() {
+        int start = segment.position();
+        segment.put(CHECKPOINT);
+        finishRecord(start);
+    }
+
+    private long finishRecord(int start) {
+        int length = segment.position() - start;
+        crc.reset();
+        crc.update(segment.slice(start, length));
+        segment.putInt((int) crc.getValue());
+        appended += length + 4;
+        return appended;
+    }
+
+    // Names are defined per segment, so the room check covers a record together with any DEFINE records it needs.
+    private void ensureRoom(int bytes) {
+        if (segment.remaining() < bytes) {
+            segment.force();
+            roll();
+        }
+    }
+
+    private void roll() {
+        segmentNumber++;
+        map(segmentPath(directory, segmentNumber), StandardOpenOption.CREATE_NEW);
+    }
+
+    private void map(Path path, StandardOpenOption... create) {
+        Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+        options.addAll(Arrays.asList(create));
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ids.clear();
+    }
+
+    /**
+     * Group commit: blocks until everything appended up to `position` has been forced to disk. Writers
+     * that arrive while a force is running queue on the commit lock and usually find their records
+     * already covered by it; otherwise one of them forces everything appended in the meantime.
+     */
+    public void awaitDurable(long position) {
+        synchronized (commitLock) {
+            if (durable >= position) {
+                return;
+            }
+            MappedByteBuffer target;
+            long upTo;
+            synchronized (this) {
+                target = segment;
+                upTo = appended;
+            }
+            target.force();
+            durable = upTo;
+        }
+    }
+
+    /**
+     * Forces the current segment and continues in a new one, returning the new segment's number.
+     * Everything appended before this call lives in segments with a lower number.
+     */
+    public synchronized int startNewSegment() {
+        segment.force();
+        roll();
+        return segmentNumber;
+    }
+
+    public void deleteSegmentsBefore(int number) throws IOException {
+        for (Path path : listSegments(directory)) {
+            if (segmentNumber(path) < number) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        long position;
+        synchronized (this) {
+            position = appended;
+        }
+        awaitDurable(position);
+    }
+}
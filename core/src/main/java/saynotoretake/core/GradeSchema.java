@@ -0,0 +1,62 @@
+package saynotoretake.core;
+
+/**
+* The 'GradeSchema' class describes the categories of a subject and their maximum points.
+* Schemas are interned, so every student taking the same subject shares one instance and
+* only the scores themselves (a plain double[] indexed by category slot) are stored per student.
+*/
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public final class GradeSchema {
+    private static final Map<Map<String, Double>, GradeSchema> interned = new ConcurrentHashMap<>();
+    private final String[] categories;
+    private final double[] maxPoints;
+    private final Map<String, Integer> slots;
+    private final Map<String, Double> maxPointsView;
+
+    private GradeSchema(Map<String, Double> maxPoints) {
+        int size = maxPoints.size();
+        this.categories = new String[size];
+        this.maxPoints = new double[size];
+        this.slots = new HashMap<>();
+        int slot = 0;
+        for (Map.Entry<String, Double> entry : maxPoints.entrySet()) {
+            categories[slot] = entry.getKey().intern();
+            this.maxPoints[slot] = entry.getValue();
+            slots.put(categories[slot], slot);
+            slot++;
+        }
+        this.maxPointsView = new ColumnView(this, this.maxPoints);
+    }
+
+    public static GradeSchema of(Map<String, Double> maxPoints) {
+        GradeSchema schema = interned.get(maxPoints);
+        if (schema != null) {
+            return schema;
+        }
+        return interned.computeIfAbsent(Map.copyOf(maxPoints), GradeSchema::new);
+    }
+
+    public int size() {
+        return categories.length;
+    }
+
+    public int slotOf(String category) {
+        Integer slot = slots.get(category);
+        return slot == null ? -1 : slot;
+    }
+
+    public String category(int slot) {
+        return categories[slot];
+    }
+
+    public double maxPoints(int slot) {
+        return maxPoints[slot];
+    }
+
+    public Map<String, Double> getMaxPoints() {
+        return maxPointsView;
+    }
+}
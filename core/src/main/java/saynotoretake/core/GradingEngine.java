@@ -0,0 +1,104 @@
+package saynotoretake.core;
+
+/**
+ * Class: GradingEngine
+ *
+ * Purpose:
+ * Headless start-up and shut-down of the grading core. The JavaFX UI, batch jobs and benchmarks all
+ * start the engine the same way, and none of them needs the JavaFX toolkit for it.
+ *
+ * Key Points:
+ * - `start` attaches the snapshot if the file exists (advisers only are read up front), otherwise it
+ *   loads the built-in `SampleData`; then it replays the grade journal on top.
+ * - A missing or unreadable journal is reported and the engine keeps running without persistence.
+ * - A `GradeEventStream` is opened for delta consumers (batches of 256 events, 50 ms linger, blocking
+ *   backpressure); `stop` publishes what is still batched and completes its subscribers.
+ * - `loadThresholds` makes a faculty's `ThresholdTable` the default for the strategies; an unreadable
+ *   table is reported and the built-in thresholds stay in place.
+ * - The hits and misses of the students' strategy result caches (`StrategyResultCache`) are counted
+ *   across all students and read through `getStrategyCacheHits`, `getStrategyCacheMisses` and
+ *   `getStrategyCacheHitRate`.
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Flow;
+
+public final class GradingEngine {
+
+    private GradingEngine() {}
+
+    public static Database start(Path snapshotFile, Path journalDirectory) {
+        Database db = Database.getInstance();
+        if (!loadSnapshot(db, snapshotFile)) {
+            SampleData.initializeDatabase(db);
+        }
+        openJournal(db, journalDirectory);
+        db.setEventStream(new GradeEventStream(256, 50, Flow.defaultBufferSize(), ObserverDispatcher.Backpressure.BLOCK));
+        return db;
+    }
+
+    public static ThresholdTable loadThresholds(Path directory, String faculty) {
+        try {
+            ThresholdTable.setDefault(ThresholdTable.forFaculty(directory, faculty));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Thresholds for " + faculty + " unreadable, using the built-in ones: " + e.getMessage());
+        }
+        return ThresholdTable.getDefault();
+    }
+
+    public static void stop() {
+        GradeEventStream events = Database.getInstance().getEventStream();
+        if (events != null) {
+            events.close();
+        }
+        GradeJournal journal = Database.getInstance().getJournal();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    public static long getStrategyCacheHits() {
+        return StrategyResultCache.getHits();
+    }
+
+    public static long getStrategyCacheMisses() {
+        return StrategyResultCache.getMisses();
+    }
+
+    // Share of strategy results served from the caches since start-up or the last reset; 0 before any lookup.
+    public static double getStrategyCacheHitRate() {
+        return StrategyResultCache.getHitRate();
+    }
+
+    public static void resetStrategyCacheStatistics() {
+        StrategyResultCache.resetStatistics();
+    }
+
+    private static boolean loadSnapshot(Database db, Path snapshotFile) {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        try {
+            db.attachSnapshot(DatabaseSnapshot.open(snapshotFile));
+            return true;
+        } catch (IOException e) {
+            System.out.println("Snapshot unreadable, starting from the built-in data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Grades recorded in previous runs are replayed on top of the snapshot or the sample data.
+    private static void openJournal(Database db, Path journalDirectory) {
+        if (journalDirectory == null) {
+            return;
+        }
+        try {
+            DatabaseSnapshot snapshot = db.getSnapshot();
+            db.setJournal(GradeJournal.open(journalDirectory, db, snapshot == null ? 0 : snapshot.getJournalSegment()));
+        } catch (IOException e) {
+            System.out.println("Grade journal unavailable, grades will not be persisted: " + e.getMessage());
+        }
+    }
+}
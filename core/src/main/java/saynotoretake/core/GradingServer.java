@@ -0,0 +1,448 @@
+package saynotoretake.core;
+
+/**
+ * Class: GradingServer
+ *
+ * Purpose:
+ * Serves the grading engine over HTTP/JSON, so many clients can work against the shared `Database` at
+ * once instead of the single JavaFX window. Built on the JDK's `com.sun.net.httpserver`.
+ *
+ * Key Points:
+ * - Every request runs on its own virtual thread when the JDK has them (looked up reflectively, so the
+ *   code still runs on 17); otherwise on a cached pool of daemon threads.
+ * - `POST /api/login` checks the password on the credential store's verifier pool and answers with a
+ *   session token; every other call sends it as `Authorization: Bearer <token>`. A student may only
+ *   touch their own record, an adviser only their own students.
+ * - Routes:
+ *     POST /api/login                         {"role", "name", "password", "adviser"} -> {"token"}
+ *     GET  /api/students/{name}/report        -> {"student", "report"}
+ *     GET  /api/students/{name}/retake        -> {"student", "retake"}
+ *     GET  /api/students/{name}/scholarship   -> {"student", "scholarship"}
+ *     POST /api/students/{name}/grades        {"subject", "category", "score"} -> {"accepted"}
+ *     GET  /api/advisers/{name}/reports       -> {"adviser", "reports": [{"student", "report"}]}
+ * - Grade posts run concurrently, even for the same student: `BaseSubject` accumulates them lock-free.
+ * - Errors are answered as {"error": message} with the matching status code.
+ * - TCP_NODELAY is switched on unless `sun.net.httpserver.nodelay` was set explicitly.
+ *
+ * Usage: java GradingServer [port] [snapshot] [journal directory]
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class GradingServer implements AutoCloseable {
+
+    private static final int BACKLOG = 1024;
+
+    // Without TCP_NODELAY the server writes headers and body separately and small responses stall on
+    // delayed ACKs (about 40 ms each). The property is read once, when the server classes load.
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Database db;
+    private final HttpServer server;
+    private final ExecutorService requests;
+    private final Strategy retake = new RetakeStrategy();
+    private final Strategy scholarship = new ScholarshipStrategy();
+
+    private GradingServer(Database db, InetSocketAddress address) throws IOException {
+        this.db = db;
+        this.requests = newRequestExecutor();
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(requests);
+        server.createContext("/api/", this::handle);
+    }
+
+    public static GradingServer start(Database db, int port) throws IOException {
+        GradingServer server = new GradingServer(db, new InetSocketAddress(port));
+        server.server.start();
+        return server;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        requests.shutdown();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor exists from JDK 21 (19 with preview enabled).
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger ids = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "grading-http-" + ids.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getRawPath().substring("/api/".length()).split("/");
+            for (int i = 0; i < path.length; i++) {
+                path[i] = URLDecoder.decode(path[i], StandardCharsets.UTF_8);
+            }
+            String method = exchange.getRequestMethod();
+            if (path.length == 1 && path[0].equals("login")) {
+                expect(method, "POST");
+                login(exchange);
+            } else if (path.length == 3 && path[0].equals("students")) {
+                student(exchange, method, path[1], path[2]);
+            } else if (path.length == 3 && path[0].equals("advisers") && path[2].equals("reports")) {
+                expect(method, "GET");
+                adviserReports(exchange, path[1]);
+            } else {
+                throw new HttpError(404, "Unknown resource");
+            }
+        } catch (HttpError e) {
+            send(exchange, e.status, "{\"error\":" + Json.quote(e.getMessage()) + "}");
+        } catch (RuntimeException e) {
+            System.out.println("Request " + exchange.getRequestURI() + " failed: " + e);
+            send(exchange, 500, "{\"error\":\"Internal error\"}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = Json.parseObject(readBody(exchange));
+        String role = Json.string(body, "role");
+        String name = Json.string(body, "name");
+        String password = Json.string(body, "password");
+        CredentialStore.Role credentialRole;
+        User user;
+        if ("adviser".equalsIgnoreCase(role)) {
+            credentialRole = CredentialStore.Role.ADVISER;
+            user = db.getAdviser(name);
+        } else if ("student".equalsIgnoreCase(role)) {
+            credentialRole = CredentialStore.Role.STUDENT;
+            String adviserName = Json.string(body, "adviser");
+            Student student = db.getStudent(name);
+            user = student == null ? null : new ProxyAuthentication(student, adviserName, db.getAdviser(adviserName));
+        } else {
+            throw new HttpError(400, "Unknown role: " + role);
+        }
+        // Unknown names still cost a full hash, like in the UI; the proxy hashes before it checks the adviser,
+        // so a wrong adviser is not faster either.
+        User checked = user != null ? user : (n, p) -> db.getCredentials().verify(credentialRole, n, p);
+        boolean accepted = CompletableFuture.supplyAsync(() -> checked.authentication(name, password), db.getCredentials().getVerifier()).join();
+        if (!accepted || user == null) {
+            throw new HttpError(401, "Wrong name or password");
+        }
+        send(exchange, 200, "{\"token\":" + Json.quote(db.getSessions().issue(credentialRole, name)) + "}");
+    }
+
+    private void student(HttpExchange exchange, String method, String name, String resource) throws IOException {
+        SessionTokens.Session session = authenticate(exchange);
+        // Authorize before reporting an unknown student, so a 404 cannot be used to probe which names exist.
+        Student student = db.getStudent(name);
+        boolean allowed = session.getRole() == CredentialStore.Role.STUDENT
+                ? session.getName().equals(name)
+                : student != null && session.getName().equals(student.getAdviserName());
+        if (!allowed) {
+            throw new HttpError(403, "Not allowed to access " + name);
+        }
+        if (student == null) {
+            throw new HttpError(404, "Unknown student: " + name);
+        }
+        switch (resource) {
+            case "report":
+                expect(method, "GET");
+                send(exchange, 200, "{\"student\":" + Json.quote(name) + ",\"report\":" + Json.quote(student.generateReport()) + "}");
+                break;
+            case "retake":
+                expect(method, "GET");
+                send(exchange, 200, "{\"student\":" + Json.quote(name) + ",\"retake\":" + Json.quote(student.getStrategyResult(retake)) + "}");
+                break;
+            case "scholarship":
+                expect(method, "GET");
+                send(exchange, 200, "{\"student\":" + Json.quote(name) + ",\"scholarship\":" + Json.quote(student.getStrategyResult(scholarship)) + "}");
+                break;
+            case "grades":
+                expect(method, "POST");
+                Map<String, Object> body = Json.parseObject(readBody(exchange));
+                boolean accepted = student.addGrade(Json.string(body, "subject"), Json.string(body, "category"), Json.number(body, "score"));
+                send(exchange, accepted ? 200 : 422, "{\"accepted\":" + accepted + "}");
+                break;
+            default:
+                throw new HttpError(404, "Unknown resource: " + resource);
+        }
+    }
+
+    private void adviserReports(HttpExchange exchange, String name) throws IOException {
+        SessionTokens.Session session = authenticate(exchange);
+        if (session.getRole() != CredentialStore.Role.ADVISER || !session.getName().equals(name)) {
+            throw new HttpError(403, "Not allowed to access " + name);
+        }
+        Adviser adviser = db.getAdviser(name);
+        if (adviser == null) {
+            throw new HttpError(404, "Unknown adviser: " + name);
+        }
+        StringBuilder json = new StringBuilder("{\"adviser\":").append(Json.quote(name)).append(",\"reports\":[");
+        adviser.forEachReport((student, report) -> {
+            if (json.charAt(json.length() - 1) != '[') {
+                json.append(',');
+            }
+            json.append("{\"student\":").append(Json.quote(student.getName())).append(",\"report\":").append(Json.quote(report)).append('}');
+        });
+        send(exchange, 200, json.append("]}").toString());
+    }
+
+    private SessionTokens.Session authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        SessionTokens.Session session = header != null && header.startsWith("Bearer ")
+                ? db.getSessions().validate(header.substring("Bearer ".length()))
+                : null;
+        if (session == null) {
+            throw new HttpError(401, "Missing or expired session token");
+        }
+        return session;
+    }
+
+    private static void expect(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new HttpError(405, "Use " + expected);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message, null, false, false);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Just enough JSON for this API: request bodies are flat objects of strings, numbers, booleans and
+     * nulls; responses are assembled by hand with `quote`.
+     */
+    static final class Json {
+
+        private Json() {}
+
+        static String quote(String text) {
+            StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"': out.append("\\\""); break;
+                    case '\\': out.append("\\\\"); break;
+                    case '\n': out.append("\\n"); break;
+                    case '\r': out.append("\\r"); break;
+                    case '\t': out.append("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            return out.append('"').toString();
+        }
+
+        static String string(Map<String, Object> object, String key) {
+            Object value = object.get(key);
+            if (!(value instanceof String)) {
+                throw new HttpError(400, "Expected a string for \"" + key + "\"");
+            }
+            return (String) value;
+        }
+
+        static double number(Map<String, Object> object, String key) {
+            Object value = object.get(key);
+            if (!(value instanceof Double)) {
+                throw new HttpError(400, "Expected a number for \"" + key + "\"");
+            }
+            return (Double) value;
+        }
+
+        static Map<String, Object> parseObject(String text) {
+            Parser parser = new Parser(text);
+            Map<String, Object> object = parser.object();
+            parser.skipSpace();
+            if (parser.pos != text.length()) {
+                throw new HttpError(400, "Trailing characters after the JSON object");
+            }
+            return object;
+        }
+
+        private static final class Parser {
+            final String text;
+            int pos;
+
+            Parser(String text) {
+                this.text = text;
+            }
+
+            Map<String, Object> object() {
+                Map<String, Object> object = new HashMap<>();
+                expect('{');
+                skipSpace();
+                if (peek() == '}') {
+                    pos++;
+                    return object;
+                }
+                do {
+                    skipSpace();
+                    String key = string();
+                    skipSpace();
+                    expect(':');
+                    skipSpace();
+                    object.put(key, value());
+                    skipSpace();
+                } while (tryConsume(','));
+                expect('}');
+                return object;
+            }
+
+            Object value() {
+                char c = peek();
+                if (c == '"') {
+                    return string();
+                } else if (text.startsWith("true", pos)) {
+                    pos += 4;
+                    return Boolean.TRUE;
+                } else if (text.startsWith("false", pos)) {
+                    pos += 5;
+                    return Boolean.FALSE;
+                } else if (text.startsWith("null", pos)) {
+                    pos += 4;
+                    return null;
+                }
+                int start = pos;
+                while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                    pos++;
+                }
+                double number;
+                try {
+                    number = Double.parseDouble(text.substring(start, pos));
+                } catch (NumberFormatException e) {
+                    throw new HttpError(400, "Malformed JSON value at " + start);
+                }
+                // Out-of-range literals such as 1e999 parse to an infinity, which JSON cannot express.
+                if (!Double.isFinite(number)) {
+                    throw new HttpError(400, "JSON number out of range at " + start);
+                }
+                return number;
+            }
+
+            String string() {
+                expect('"');
+                StringBuilder out = new StringBuilder();
+                while (true) {
+                    char c = next();
+                    if (c == '"') {
+                        return out.toString();
+                    }
+                    if (c != '\\') {
+                        out.append(c);
+                        continue;
+                    }
+                    char escaped = next();
+                    switch (escaped) {
+                        case 'n': out.append('\n'); break;
+                        case 'r': out.append('\r'); break;
+                        case 't': out.append('\t'); break;
+                        case 'b': out.append('\b'); break;
+                        case 'f': out.append('\f'); break;
+                        case 'u':
+                            if (pos + 4 > text.length()) {
+                                throw new HttpError(400, "Malformed JSON escape");
+                            }
+                            try {
+                                out.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            } catch (NumberFormatException e) {
+                                throw new HttpError(400, "Malformed JSON escape");
+                            }
+                            pos += 4;
+                            break;
+                        default: out.append(escaped);
+                    }
+                }
+            }
+
+            void skipSpace() {
+                while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                    pos++;
+                }
+            }
+
+            boolean tryConsume(char c) {
+                if (pos < text.length() && text.charAt(pos) == c) {
+                    pos++;
+                    return true;
+                }
+                return false;
+            }
+
+            void expect(char c) {
+                if (!tryConsume(c)) {
+                    throw new HttpError(400, "Malformed JSON: expected '" + c + "' at " + pos);
+                }
+            }
+
+            char peek() {
+                if (pos >= text.length()) {
+                    throw new HttpError(400, "Unexpected end of JSON");
+                }
+                return text.charAt(pos);
+            }
+
+            char next() {
+                char c = peek();
+                pos++;
+                return c;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path snapshot = args.length > 1 ? Path.of(args[1]) : null;
+        Path journal = args.length > 2 ? Path.of(args[2]) : null;
+        Database db = GradingEngine.start(snapshot, journal);
+        GradingServer server = start(db, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            GradingEngine.stop();
+        }));
+        System.out.println("Grading API listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,7 @@
+package saynotoretake.core;
+
+public interface Observable {
+    void addObserver(Observer observer);
+    void removeObserver(Observer observer);
+    void notifyObservers();
+}
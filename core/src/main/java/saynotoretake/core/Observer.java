@@ -0,0 +1,22 @@
+package saynotoretake.core;
+
+/**
+ * The Observer pattern is implemented to notify the Adviser about changes in the Student's grades.
+ * - Observable: The `Student` class allows observers (Adviser) to register, remove, and receive updates.
+ * - Observer: The `Adviser` class updates its reports whenever a Student's grades are modified.
+ * - A batch of grades (`Student.addGrades`) arrives as one call with its summary; observers that do not
+ *   care about the details get a plain `update(student)`.
+ * - `missed` replaces the update when the dispatcher drops a notification; it runs on the grading thread,
+ *   so it should only forget what the observer cached for the student.
+ */
+
+public interface Observer {
+    void update(Student student);
+
+    default void update(Student student, GradeBatch.Summary summary) {
+        update(student);
+    }
+
+    default void missed(Student student) {
+    }
+}
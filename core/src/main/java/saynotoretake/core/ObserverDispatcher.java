@@ -0,0 +1,184 @@
+package saynotoretake.core;
+
+/**
+ * The 'ObserverDispatcher' decides how `Student.notifyObservers` reaches the observers.
+ * - SYNC (the default): observers run inline on the caller's thread, as before.
+ * - ASYNC: the student is put on a bounded queue and delivered by worker threads, so grade
+ *   writers never wait for adviser-side work. A student that is already waiting in the queue is
+ *   not queued again, which merges a burst of notifications into one delivery.
+ * - A batch summary (`Student.addGrades`) is kept with the pending student, so in ASYNC mode the
+ *   observers still get every summary, once each, in the delivery that follows.
+ * When the queue is full the configured `Backpressure` policy applies. Under DROP the observers are
+ * told through `Observer.missed` on the caller's thread, so nothing they cached outlives the grade.
+ * `flush` waits until every accepted notification has been delivered (used by tests and before shutdown).
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ObserverDispatcher {
+    public enum Backpressure { BLOCK, CALLER_RUNS, DROP }
+
+    private static volatile ObserverDispatcher instance = new ObserverDispatcher(null, null, Backpressure.BLOCK);
+
+    private final BlockingQueue<Student> queue;
+    private final ExecutorService workers;
+    private final Backpressure backpressure;
+    // The students waiting in the queue, each with the batch summaries merged into its delivery.
+    private final Map<Student, List<GradeBatch.Summary>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final Object idle = new Object();
+
+    private ObserverDispatcher(BlockingQueue<Student> queue, ExecutorService workers, Backpressure backpressure) {
+        this.queue = queue;
+        this.workers = workers;
+        this.backpressure = backpressure;
+    }
+
+    public static ObserverDispatcher getInstance() {
+        return instance;
+    }
+
+    // The previous dispatcher is not shut down here; flush and shut it down if it was asynchronous.
+    public static void setInstance(ObserverDispatcher dispatcher) {
+        instance = dispatcher;
+    }
+
+    public static ObserverDispatcher sync() {
+        return new ObserverDispatcher(null, null, Backpressure.BLOCK);
+    }
+
+    public static ObserverDispatcher async(int capacity, int workerCount, Backpressure backpressure) {
+        AtomicInteger ids = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "observer-dispatch-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ObserverDispatcher dispatcher = new ObserverDispatcher(new ArrayBlockingQueue<>(capacity), workers, backpressure);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(dispatcher::drainLoop);
+        }
+        return dispatcher;
+    }
+
+    void dispatch(Student student, GradeBatch.Summary summary) {
+        if (queue == null) {
+            student.deliverToObservers(summary);
+        } else {
+            enqueue(student, summary);
+        }
+    }
+
+    void dispatch(Student student) {
+        if (queue == null) {
+            student.deliverToObservers();
+        } else {
+            enqueue(student, null);
+        }
+    }
+
+    private void enqueue(Student student, GradeBatch.Summary summary) {
+        boolean[] added = new boolean[1];
+        pending.compute(student, (key, summaries) -> {
+            if (summaries == null) {
+                summaries = new ArrayList<>();
+                added[0] = true;
+            }
+            if (summary != null) {
+                summaries.add(summary);
+            }
+            return summaries;
+        });
+        if (!added[0]) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        if (queue.offer(student)) {
+            return;
+        }
+        switch (backpressure) {
+            case BLOCK:
+                try {
+                    queue.put(student);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pending.remove(student);
+                    student.missedByObservers();
+                    done();
+                    return;
+                }
+            case CALLER_RUNS:
+                try {
+                    deliver(student, pending.remove(student));
+                } finally {
+                    done();
+                }
+                return;
+            default:
+                pending.remove(student);
+                dropped.increment();
+                student.missedByObservers();
+                done();
+        }
+    }
+
+    // Removing the student from `pending` before delivery means a grade added during delivery is queued again.
+    private void drainLoop() {
+        try {
+            while (true) {
+                Student student = queue.take();
+                try {
+                    deliver(student, pending.remove(student));
+                } catch (RuntimeException e) {
+                    System.out.println("Observer failed for student " + student.getName() + ": " + e);
+                } finally {
+                    done();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Each summary already carries the plain notification, so the plain one is only sent without summaries.
+    private static void deliver(Student student, List<GradeBatch.Summary> summaries) {
+        if (summaries == null || summaries.isEmpty()) {
+            student.deliverToObservers();
+            return;
+        }
+        for (GradeBatch.Summary summary : summaries) {
+            student.deliverToObservers(summary);
+        }
+    }
+
+    private void done() {
+        if (inFlight.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    public void flush() throws InterruptedException {
+        synchronized (idle) {
+            while (inFlight.get() > 0) {
+                idle.wait();
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package saynotoretake.core;
+
+/**
+ * The 'ObserverRegistry' holds the observers of one Observable.
+ * - Identity-set semantics: registering the same observer twice is a no-op.
+ * - Observers are held through weak references, so a stale observer that nothing else refers to
+ *   can be garbage-collected; cleared entries are dropped on the next add or remove.
+ *   Whoever registers an observer must keep it strongly reachable for as long as it should be notified.
+ * - Writes copy the (small) array, reads iterate the current array directly without copying it.
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+public final class ObserverRegistry implements Iterable<Observer> {
+    private static final WeakReference<Observer>[] EMPTY = newArray(0);
+    private volatile WeakReference<Observer>[] refs = EMPTY;
+
+    public synchronized boolean add(Observer observer) {
+        WeakReference<Observer>[] current = refs;
+        int live = 0;
+        for (WeakReference<Observer> ref : current) {
+            Observer existing = ref.get();
+            if (existing == observer) {
+                return false;
+            }
+            if (existing != null) {
+                live++;
+            }
+        }
+        WeakReference<Observer>[] next = Arrays.copyOf(compact(current, live, null), live + 1);
+        next[live] = new WeakReference<>(observer);
+        refs = next;
+        return true;
+    }
+
+    public synchronized boolean remove(Observer observer) {
+        WeakReference<Observer>[] current = refs;
+        int live = 0;
+        boolean found = false;
+        for (WeakReference<Observer> ref : current) {
+            Observer existing = ref.get();
+            if (existing == observer) {
+                found = true;
+            } else if (existing != null) {
+                live++;
+            }
+        }
+        refs = compact(current, live, observer);
+        return found;
+    }
+
+    public int size() {
+        int live = 0;
+        for (WeakReference<Observer> ref : refs) {
+            if (ref.get() != null) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    private static WeakReference<Observer>[] compact(WeakReference<Observer>[] current, int live, Observer skip) {
+        WeakReference<Observer>[] next = newArray(live);
+        int i = 0;
+        for (WeakReference<Observer> ref : current) {
+            Observer existing = ref.get();
+            if (existing != null && existing != skip) {
+                next[i++] = ref;
+            }
+        }
+        return next;
+    }
+
+    // Java cannot create an array of a parameterized type, so the raw array is created here and cast once;
+    // it only ever holds WeakReference<Observer> elements.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static WeakReference<Observer>[] newArray(int length) {
+        return new WeakReference[length];
+    }
+
+    @Override
+    public Iterator<Observer> iterator() {
+        WeakReference<Observer>[] snapshot = refs;
+        return new Iterator<>() {
+            private int index;
+            private Observer next = advance();
+
+            private Observer advance() {
+                while (index < snapshot.length) {
+                    Observer observer = snapshot[index++].get();
+                    if (observer != null) {
+                        return observer;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Observer next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Observer current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package saynotoretake.core;
+
+/**
+ * The ProxyAuthentication class implements the Proxy pattern.
+ * It adds an intermediary layer to validate the student's adviser relationship 
+ * before granting access to certain functionalities.
+ * This pattern enhances security and controls access.
+ */
+
+public class ProxyAuthentication implements User {
+    private User user;
+    private String adviserName;
+    private Adviser adviser;
+
+    public ProxyAuthentication(User user, String adviserName, Adviser adviser) {
+        this.user = user;
+        this.adviserName = adviserName;
+        this.adviser = adviser;
+    }
+
+    @Override
+    public boolean authentication(String name, String password) {
+        if (user instanceof Student) {
+            Student student = (Student) user;
+            // The password is always checked first, so a wrong adviser costs the same hash as a wrong
+            // password or an unknown name and response times do not reveal which students exist.
+            boolean authenticated = student.authentication(name, password);
+            return authenticated && adviserName.equals(student.getAdviserName()) && adviser != null && adviserName.equals(adviser.getName());
+        } else {
+            return user.authentication(name, password);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package saynotoretake.core;
+
+/**
+ * Class: RefreshScheduler
+ *
+ * Purpose:
+ * Gathers change notifications from any thread and hands them to the UI in batches, through an
+ * executor such as `Platform.runLater`, with at most one refresh queued at a time.
+ *
+ * Key Points:
+ * - `submit` never blocks: it adds the item to a concurrent set and, only if no refresh is queued
+ *   yet, posts one. A burst of 10k notifications therefore posts one refresh, which sees the
+ *   distinct items of the whole burst.
+ * - The queued flag is cleared before the set is drained, so an item submitted while a refresh runs
+ *   schedules the next one instead of being lost.
+ * - The core has no JavaFX dependency; the front end passes its own executor.
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public final class RefreshScheduler<T> {
+
+    private final Consumer<Runnable> executor;
+    private final Consumer<Set<T>> refresh;
+    private final Set<T> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public RefreshScheduler(Consumer<Runnable> executor, Consumer<Set<T>> refresh) {
+        this.executor = executor;
+        this.refresh = refresh;
+    }
+
+    public void submit(T item) {
+        submitted.increment();
+        pending.add(item);
+        if (queued.compareAndSet(false, true)) {
+            executor.accept(this::run);
+        }
+    }
+
+    private void run() {
+        queued.set(false);
+        Set<T> batch = new HashSet<>();
+        for (Iterator<T> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        if (!batch.isEmpty()) {
+            refreshes.increment();
+            refresh.accept(batch);
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+}
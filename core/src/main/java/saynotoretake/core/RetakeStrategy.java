@@ -0,0 +1,57 @@
+package saynotoretake.core;
+
+/**
+ * The `RetakeStrategy` class estimates, per subject, the chance of a retake from how far the total is
+ * below the pass mark. The pass mark and maximum score come from a `ThresholdTable`.
+ */
+
+public class RetakeStrategy implements Strategy {
+    private final ThresholdTable thresholds;
+
+    public RetakeStrategy() {
+        this(ThresholdTable.getDefault());
+    }
+
+    public RetakeStrategy(ThresholdTable thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    @Override
+    public void evaluate(Student student, Evaluation result) {
+        result.reset(student);
+        for (Subject subject : student.getSubjects()) {
+            double totalScore = subject.getTotalScore();
+            int row = result.addSubject(subject, totalScore);
+            result.setRetakeProbability(row, thresholds.retakeProbability(totalScore));
+        }
+    }
+
+    @Override
+    public String render(Evaluation evaluation) {
+        StringBuilder result = new StringBuilder();
+        result.append("\nRetake Probability for ").append(evaluation.getStudent().getName()).append("\n");
+
+        double maxScore = thresholds.getMaxScore();
+        for (int row = 0; row < evaluation.size(); row++) {
+            String name = evaluation.subject(row).getName();
+            double totalScore = evaluation.totalScore(row);
+            if (!evaluation.needsRetake(row)) {
+                result.append("- ").append(name).append(": No need to retake (Score: ").append(totalScore).append("/").append(maxScore).append(")\n");
+            } else {
+                result.append("- ").append(name).append(": ").append(String.format("%.2f", evaluation.retakeProbability(row))).append("% chance of retaking (Score: ").append(totalScore).append("/").append(maxScore).append(")\n");
+            }
+        }
+        return result.toString();
+    }
+
+    // Two retake strategies over the same table give the same results, so they share a cache entry.
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RetakeStrategy && ((RetakeStrategy) other).thresholds == thresholds;
+    }
+
+    @Override
+    public int hashCode() {
+        return RetakeStrategy.class.hashCode() * 31 + System.identityHashCode(thresholds);
+    }
+}
@@ -0,0 +1,67 @@
+package saynotoretake.core;
+
+/**
+ * The `SampleData` class holds the built-in demo data: one adviser, three students and the four
+ * subjects every student takes. It is used when no database snapshot is available.
+ */
+
+import java.util.*;
+
+public final class SampleData {
+
+    private SampleData() {}
+
+    /**
+     * The `initializeDatabase` function sets up a database with an adviser and three students, assigns
+     * subjects to the students, and adds the adviser as an observer to the students. The demo
+     * passwords are enrolled in the credential store as hashes.
+     */
+    public static void initializeDatabase(Database db) {
+        CredentialStore credentials = db.getCredentials();
+        Adviser adviser = new Adviser("Nursat");
+        credentials.enroll(CredentialStore.Role.ADVISER, "Nursat", "SayNo");
+        db.setAdviser(adviser);
+
+        Student student1 = new Student("Nursat", "Kamila", new ArrayList<>());
+        Student student2 = new Student("Nursat", "Akbota", new ArrayList<>());
+        Student student3 = new Student("Nursat", "Nurkanat", new ArrayList<>());
+        for (Student student : List.of(student1, student2, student3)) {
+            credentials.enroll(CredentialStore.Role.STUDENT, student.getName(), "12345");
+        }
+
+        db.addStudent(student1);
+        db.addStudent(student2);
+        db.addStudent(student3);
+
+        setupStudentSubjects(student1);
+        setupStudentSubjects(student2);
+        setupStudentSubjects(student3);
+
+        student1.addObserver(adviser);
+        student2.addObserver(adviser);
+        student3.addObserver(adviser);
+    }
+
+/**
+* The function 'setupStudentSubjects' initializes the subjects for a student if they do not already have any subjects.
+* It creates a set of base subjects with specific categories and their respective weightings, 
+* then adds bonus points to some of the subjects using the decorator pattern.
+*/
+    public static void setupStudentSubjects(Student student) {
+        if (student.getSubjects().isEmpty()) {
+            Subject calculus = new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0));
+            Subject designPatterns = new BaseSubject("Design Patterns", Map.of("Lab.work", 40.0, "Project", 20.0));
+            Subject algorithms = new BaseSubject("Data Structure and Algorithms", Map.of("Home work", 30.0, "Contest", 30.0));
+            Subject turkish = new BaseSubject("Turkish language", Map.of("Midterm", 30.0, "Ders", 30.0));
+    
+            // Adding bonuses to some subjects
+            Subject bonusCalculus = new BonusDecoratorSubject(calculus, 5.0);
+            Subject bonusDesignPatterns = new BonusDecoratorSubject(designPatterns, 3.0);
+    
+            student.addSubject(bonusCalculus);
+            student.addSubject(bonusDesignPatterns);
+            student.addSubject(algorithms);
+            student.addSubject(turkish);
+        }
+    }
+}
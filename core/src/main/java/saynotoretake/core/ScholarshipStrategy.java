@@ -0,0 +1,60 @@
+package saynotoretake.core;
+
+/**
+ * The `ScholarshipStrategy` class places each subject in a scholarship band (on track, needs the
+ * final, needs significant improvement). The band limits and the final target come from a `ThresholdTable`.
+ */
+
+public class ScholarshipStrategy implements Strategy {
+    private final ThresholdTable thresholds;
+
+    public ScholarshipStrategy() {
+        this(ThresholdTable.getDefault());
+    }
+
+    public ScholarshipStrategy(ThresholdTable thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    @Override
+    public void evaluate(Student student, Evaluation result) {
+        result.reset(student);
+        for (Subject subject : student.getSubjects()) {
+            double totalScore = subject.getTotalScore();
+            int row = result.addSubject(subject, totalScore);
+            result.setScholarship(row, thresholds.scholarshipStatus(totalScore), thresholds.scholarshipGap(totalScore));
+        }
+    }
+
+    @Override
+    public String render(Evaluation evaluation) {
+        StringBuilder result = new StringBuilder();
+        result.append("\nScholarship Eligibility for ").append(evaluation.getStudent().getName()).append("\n");
+
+        for (int row = 0; row < evaluation.size(); row++) {
+            result.append("- ").append(evaluation.subject(row).getName()).append(": ").append(evaluation.totalScore(row)).append("\n");
+
+            switch (evaluation.scholarshipStatus(row)) {
+                case ON_TRACK:
+                    result.append("You are on track for a scholarship.\n");
+                    break;
+                case NEEDS_FINAL:
+                    result.append("You need to score at least ").append(evaluation.scholarshipGap(row)).append(" in the final to secure the scholarship.\n");
+                    break;
+                default:
+                    result.append("You need significant improvement to qualify for a scholarship.\n");
+            }
+        }
+        return result.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScholarshipStrategy && ((ScholarshipStrategy) other).thresholds == thresholds;
+    }
+
+    @Override
+    public int hashCode() {
+        return ScholarshipStrategy.class.hashCode() * 31 + System.identityHashCode(thresholds);
+    }
+}
@@ -0,0 +1,111 @@
+package saynotoretake.core;
+
+/**
+ * Class: SessionTokens
+ *
+ * Purpose:
+ * Issues signed session tokens after a successful login and validates them without touching the
+ * `CredentialStore`, so privileged actions do not have to re-authenticate.
+ *
+ * Key Points:
+ * - A token is `base64url(role|expiry|name) + "." + base64url(HMAC-SHA256)`, signed with a random key
+ *   made when the store is created. Tokens therefore do not survive a restart, which is the intended
+ *   session lifetime for a desktop app.
+ * - Validation is one HMAC over a few dozen bytes plus a constant-time compare; the Mac is cached per
+ *   thread.
+ * - An expired, altered or malformed token validates to null.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+public final class SessionTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    public static final class Session {
+        private final CredentialStore.Role role;
+        private final String name;
+        private final long expiresAt;
+
+        private Session(CredentialStore.Role role, String name, long expiresAt) {
+            this.role = role;
+            this.name = name;
+            this.expiresAt = expiresAt;
+        }
+
+        public CredentialStore.Role getRole() {
+            return role;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokens(long ttlMillis) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlMillis = ttlMillis;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    public String issue(CredentialStore.Role role, String name) {
+        byte[] payload = (role.name() + "|" + (System.currentTimeMillis() + ttlMillis) + "|" + name).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        return base64.encodeToString(payload) + "." + base64.encodeToString(macs.get().doFinal(payload));
+    }
+
+    public Session validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder base64 = Base64.getUrlDecoder();
+            payload = base64.decode(token.substring(0, dot));
+            signature = base64.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+            return null;
+        }
+        String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\|", 3);
+        if (fields.length != 3) {
+            return null;
+        }
+        long expiresAt = Long.parseLong(fields[1]);
+        if (expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return new Session(CredentialStore.Role.valueOf(fields[0]), fields[2], expiresAt);
+    }
+}
@@ -0,0 +1,20 @@
+package saynotoretake.core;
+
+/**
+ * The Strategy pattern is used to define different algorithms for calculating retake probability 
+ * and scholarship eligibility. The `Student` class uses the Strategy interface to execute the chosen algorithm.
+ * `evaluate` fills a reusable `Evaluation` with numbers only; `render` turns it into the text shown to
+ * users, and `calculate` does both for callers that just want the text.
+ */
+
+public interface Strategy {
+    void evaluate(Student student, Evaluation result);
+
+    String render(Evaluation result);
+
+    default String calculate(Student student) {
+        Evaluation result = new Evaluation();
+        evaluate(student, result);
+        return render(result);
+    }
+}
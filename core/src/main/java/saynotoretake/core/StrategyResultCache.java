@@ -0,0 +1,83 @@
+package saynotoretake.core;
+
+/**
+ * Class: StrategyResultCache
+ *
+ * Purpose:
+ * Remembers the text each strategy produced for one student, so reopening "Retake Probability" or
+ * "Scholarship Probability" does not recompute it until the student's grades actually change.
+ *
+ * Key Points:
+ * - Entries are keyed by the strategy's class, so a student holds at most one entry per kind of strategy
+ *   however many instances are passed in. An entry is used only if its strategy equals the one asked
+ *   for: strategies are stateless apart from their `ThresholdTable` and compare equal when they share it,
+ *   so the new instance the UI creates per screen still hits, and a strategy without `equals` just
+ *   recomputes and replaces the entry. Each entry is tagged with the student's grade version at the
+ *   time it was computed.
+ * - The grade version is the sum of the subject versions plus the number of subjects; both only grow,
+ *   so any applied grade or added subject yields a new version.
+ * - The version is read before computing, so a grade that lands mid-computation leaves the entry
+ *   stale and the next read recomputes it.
+ * - Hits and misses are counted across all students; `GradingEngine` exposes them.
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+final class StrategyResultCache {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private static final class Entry {
+        final Strategy strategy;
+        final long version;
+        final String text;
+
+        Entry(Strategy strategy, long version, String text) {
+            this.strategy = strategy;
+            this.version = version;
+            this.text = text;
+        }
+    }
+
+    private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>(4);
+
+    String get(Strategy strategy, Student student) {
+        long version = student.getGradeVersion();
+        Entry entry = entries.get(strategy.getClass());
+        if (entry != null && entry.version == version && entry.strategy.equals(strategy)) {
+            hits.increment();
+            return entry.text;
+        }
+        misses.increment();
+        String text = strategy.calculate(student);
+        entries.put(strategy.getClass(), new Entry(strategy, version, text));
+        return text;
+    }
+
+    // Number of cached entries, for tests.
+    int size() {
+        return entries.size();
+    }
+
+    static long getHits() {
+        return hits.sum();
+    }
+
+    static long getMisses() {
+        return misses.sum();
+    }
+
+    static double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+}
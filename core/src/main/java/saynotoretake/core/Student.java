@@ -0,0 +1,267 @@
+package saynotoretake.core;
+
+/**
+ * The `Student` class in Java represents a student with properties such as adviser, name,
+ * subjects and grades, and implements the `User` and `Observable` interfaces for
+ * proxy and observer pattern functionality. The password is not kept here: it is enrolled in the
+ * database's `CredentialStore` and checked there as a salted hash.
+ * Strategy results are cached per strategy and reused until the grades change (see `StrategyResultCache`).
+ * `addGrades` applies a whole `GradeBatch` at once and notifies the observers a single time.
+ * Subjects are indexed by their lower-cased name, so finding one for a grade is a hash lookup instead of
+ * a scan with `equalsIgnoreCase`; the first subject added under a name wins, as the scan did.
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+public class Student implements User, Observable {
+    private String adviser;
+    private String name;
+    private List<Subject> subjectsAndGrades;
+    private Strategy strategy;
+    private final ObserverRegistry observers = new ObserverRegistry();
+    private final StrategyResultCache strategyResults = new StrategyResultCache();
+    private final Map<String, Subject> subjectIndex = new ConcurrentHashMap<>(8);
+
+    public Student(String adviser, String name, List<Subject> subjectsAndGrades) {
+        this.adviser = adviser;
+        this.name = name;
+        this.subjectsAndGrades = subjectsAndGrades;
+        for (Subject subject : subjectsAndGrades) {
+            subjectIndex.putIfAbsent(normalize(subject.getName()), subject);
+        }
+    }
+
+    public void addSubject(Subject subject) {
+        subjectsAndGrades.add(subject);
+        subjectIndex.putIfAbsent(normalize(subject.getName()), subject);
+    }
+
+    // toLowerCase returns the same string when it is already lower case, so typical lookups do not allocate.
+    private static String normalize(String subjectName) {
+        return subjectName.toLowerCase(Locale.ROOT);
+    }
+
+    // Case-insensitive, like addGrade; null if the student does not take the subject.
+    public Subject getSubject(String subjectName) {
+        return subjectIndex.get(normalize(subjectName));
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public String executeStrategy() {
+        if (strategy != null) {
+            return strategyResults.get(strategy, this);
+        } else {
+            return "Strategy not set.";
+        }
+    }
+
+    // Same text as strategy.calculate(this), without going through setStrategy.
+    public String getStrategyResult(Strategy strategy) {
+        return strategyResults.get(strategy, this);
+    }
+
+    public long getGradeVersion() {
+        long version = subjectsAndGrades.size();
+        for (Subject subject : subjectsAndGrades) {
+            version += subject.getVersion();
+        }
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAdviserName() {
+        return adviser;
+    }
+
+    public List<Subject> getSubjects() {
+        return subjectsAndGrades;
+    }
+
+    // Returns whether the grade was applied (false for an unknown subject or category, or a score over the maximum).
+    public boolean addGrade(String subjectName, String category, double grade) {
+        Subject subject = getSubject(subjectName);
+        if (subject == null) {
+            System.out.println("Subject not found: " + subjectName);
+            return false;
+        }
+        Database db = Database.getInstance();
+        GradeEventStream events = db.getEventStream();
+        int slot = subject.slotOf(category);
+        GradeJournal journal = db.getJournal();
+        double oldScore;
+        long position = 0;
+        Lock gradeLock = db.gradeLock();
+        gradeLock.lock();
+        try {
+            oldScore = slot < 0 ? Double.NaN : subject.accumulate(slot, grade);
+            if (Double.isNaN(oldScore)) {
+                System.out.println("Grade not applied: " + grade + " for " + subject.getName() + "/" + category
+                        + " (unknown category, not a number, or over the maximum).");
+                return false;
+            }
+            if (journal != null) {
+                position = journal.append(name, subject.getName(), category, grade);
+            }
+        } finally {
+            gradeLock.unlock();
+        }
+        if (journal != null) {
+            journal.awaitDurable(position);
+        }
+        if (events != null && events.hasSubscribers()) {
+            events.publish(new GradeEvent(this, subject.getName(), category, oldScore, oldScore + grade));
+        }
+        notifyObservers();
+        return true;
+    }
+
+    /**
+     * Applies every grade in the batch or none of them. All entries are checked up front against the
+     * subjects' maximum points, including several entries for the same category; if any is invalid
+     * nothing changes. A grade written concurrently by someone else can still take the room between
+     * the check and the apply, in which case the entries already applied are taken back out; an entry
+     * that cannot be taken back is reported in the summary's errors.
+     * Observers are notified once for the whole batch and receive the summary.
+     */
+    public GradeBatch.Summary addGrades(GradeBatch batch) {
+        List<GradeBatch.Entry> entries = batch.entries();
+        Subject[] targets = new Subject[entries.size()];
+        int[] slots = new int[entries.size()];
+        List<String> errors = new ArrayList<>();
+        Map<Subject, Map<String, Double>> requested = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            GradeBatch.Entry entry = entries.get(i);
+            Subject subject = getSubject(entry.subject);
+            if (subject == null) {
+                errors.add("Subject not found: " + entry.subject);
+                continue;
+            }
+            int slot = subject.slotOf(entry.category);
+            if (slot < 0) {
+                errors.add("Invalid category for " + subject.getName() + ": " + entry.category);
+                continue;
+            }
+            double maxScore = subject.getMaxPoints().get(entry.category);
+            if (!Double.isFinite(entry.score)) {
+                errors.add("Invalid score for " + subject.getName() + "/" + entry.category + ": " + entry.score);
+                continue;
+            }
+            double total = requested.computeIfAbsent(subject, k -> new HashMap<>()).merge(entry.category, entry.score, Double::sum);
+            if (subject.getScore(slot) + total > maxScore) {
+                errors.add("Total score for " + subject.getName() + "/" + entry.category + " would exceed maximum ("
+                        + (subject.getScore(slot) + total) + "/" + maxScore + ")");
+                continue;
+            }
+            targets[i] = subject;
+            slots[i] = slot;
+        }
+        if (!errors.isEmpty()) {
+            return new GradeBatch.Summary(this, new ArrayList<>(), errors);
+        }
+
+        Database db = Database.getInstance();
+        GradeJournal journal = db.getJournal();
+        long position = 0;
+        List<GradeEvent> changes = new ArrayList<>(entries.size());
+        Lock gradeLock = db.gradeLock();
+        gradeLock.lock();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                GradeBatch.Entry entry = entries.get(i);
+                double oldScore = targets[i].accumulate(slots[i], entry.score);
+                if (Double.isNaN(oldScore)) {
+                    errors.add("Total score for " + targets[i].getName() + "/" + entry.category + " changed concurrently and would exceed maximum");
+                    for (int j = i - 1; j >= 0; j--) {
+                        if (!targets[j].tryAddGrade(slots[j], -entries.get(j).score)) {
+                            errors.add("Rollback failed for " + targets[j].getName() + "/" + targets[j].categoryAt(slots[j])
+                                    + ": " + entries.get(j).score + " is still applied");
+                        }
+                    }
+                    return new GradeBatch.Summary(this, new ArrayList<>(), errors);
+                }
+                changes.add(new GradeEvent(this, targets[i].getName(), targets[i].categoryAt(slots[i]), oldScore, oldScore + entry.score));
+            }
+            if (journal != null) {
+                // The entry's own score is journaled; GradeEvent.getDelta() is recomputed from the old and new
+                // scores and can differ from it in the last bits.
+                for (int i = 0; i < changes.size(); i++) {
+                    GradeEvent change = changes.get(i);
+                    position = journal.append(name, change.getSubject(), change.getCategory(), entries.get(i).score);
+                }
+            }
+        } finally {
+            gradeLock.unlock();
+        }
+        if (journal != null && !changes.isEmpty()) {
+            journal.awaitDurable(position);
+        }
+        GradeEventStream events = db.getEventStream();
+        if (events != null && events.hasSubscribers()) {
+            changes.forEach(events::publish);
+        }
+        GradeBatch.Summary summary = new GradeBatch.Summary(this, changes, errors);
+        if (!changes.isEmpty()) {
+            ObserverDispatcher.getInstance().dispatch(this, summary);
+        }
+        return summary;
+    }
+
+
+    public String generateReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\nGrade Report for ---").append(this.name).append("\n");
+        for (Subject subject : subjectsAndGrades) {
+            double totalScore = subject.getTotalScore();
+            report.append("- ").append(subject.getName()).append(": ").append(totalScore).append("\n");
+        }
+        return report.toString();
+    }
+
+    // The above code is implementing the proxy interface in Java.
+    @Override
+    public boolean authentication(String name, String password) {
+        return (this.name).equals(name)
+                && Database.getInstance().getCredentials().verify(CredentialStore.Role.STUDENT, name, password);
+    }
+
+    @Override
+    public void addObserver(Observer observer) {
+        observers.add(observer);
+    }
+
+    @Override
+    public void removeObserver(Observer observer) {
+        observers.remove(observer);
+    }
+
+    @Override
+    public void notifyObservers() {
+        ObserverDispatcher.getInstance().dispatch(this);
+    }
+
+    void deliverToObservers() {
+        for (Observer observer : observers) {
+            observer.update(this);
+        }
+    }
+
+    void deliverToObservers(GradeBatch.Summary summary) {
+        for (Observer observer : observers) {
+            observer.update(this, summary);
+        }
+    }
+
+    void missedByObservers() {
+        for (Observer observer : observers) {
+            observer.missed(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package saynotoretake.core;
+
+/**
+* The 'Subject' interface defines the contract for subject objects.
+* It provides methods to get the subject name, total score, grades, and maximum points,
+* as well as the ability to add grades for the subject.(Part of implementing Decorator pattern)
+* `addGrade` and `tryAddGrade` return whether the grade was applied; neither prints, so a refused
+* grade is reported by whoever called them.
+* `getVersion` changes every time a grade is applied, so callers can tell whether cached results
+* derived from the scores are still current.
+* Categories can also be addressed by slot: `slotOf` resolves a name once (-1 if unknown), and the
+* slot-based methods then read or add a score with an array access instead of a name lookup.
+* `accumulate` adds to a slot like `tryAddGrade` but returns the score it replaced (NaN if refused), so
+* a caller can describe the change without reading the score separately, which races with other writers.
+*/
+
+import java.util.*;
+
+public interface Subject{
+    String getName();
+    double getTotalScore();
+    Map<String, Double> getGrades();
+    Map<String, Double> getMaxPoints();
+    boolean addGrade(String category, double totalScore);
+    boolean tryAddGrade(String category, double totalScore);
+    long getVersion();
+    int slotOf(String category);
+    String categoryAt(int slot);
+    double getScore(int slot);
+    boolean tryAddGrade(int slot, double totalScore);
+    double accumulate(int slot, double amount);
+}
@@ -0,0 +1,177 @@
+package saynotoretake.core;
+
+/**
+ * Class: ThresholdTable
+ *
+ * Purpose:
+ * The grading thresholds used by the strategies and `CombinedEvaluator`: the pass mark, the maximum
+ * score, the scholarship bands and any extra per-subject rules a faculty wants flagged.
+ *
+ * Key Points:
+ * - `DEFAULTS` holds the values the strategies always used (pass 50 of 100, on track at 60, final
+ *   eligible at 30, target 70) and no extra rules.
+ * - A faculty's table is a properties file `<faculty>.properties`, so thresholds change without
+ *   recompiling. Keys that are missing keep their default:
+ *
+ *       pass=50
+ *       max=100
+ *       scholarship.onTrack=60
+ *       scholarship.finalEligible=30
+ *       scholarship.target=70
+ *       rule.honours=atLeast 85
+ *       rule.probation=below 20
+ *
+ * - Rules are ordered by name and at most 64 are allowed, so one subject's matches fit in a long.
+ * - Tables are immutable; `getDefault`/`setDefault` hold the one the strategies use when none is given.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public final class ThresholdTable {
+
+    public static final int MAX_RULES = 64;
+
+    public static final ThresholdTable DEFAULTS = new ThresholdTable(50, 100, 60, 30, 70, new String[0], new double[0], new boolean[0]);
+
+    private static volatile ThresholdTable defaultTable = DEFAULTS;
+
+    private final double passScore;
+    private final double maxScore;
+    private final double onTrackScore;
+    private final double finalEligibleScore;
+    private final double targetScore;
+    private final String[] ruleNames;
+    private final double[] ruleThresholds;
+    private final boolean[] ruleBelow;
+
+    private ThresholdTable(double passScore, double maxScore, double onTrackScore, double finalEligibleScore, double targetScore,
+                           String[] ruleNames, double[] ruleThresholds, boolean[] ruleBelow) {
+        this.passScore = passScore;
+        this.maxScore = maxScore;
+        this.onTrackScore = onTrackScore;
+        this.finalEligibleScore = finalEligibleScore;
+        this.targetScore = targetScore;
+        this.ruleNames = ruleNames;
+        this.ruleThresholds = ruleThresholds;
+        this.ruleBelow = ruleBelow;
+    }
+
+    public static ThresholdTable getDefault() {
+        return defaultTable;
+    }
+
+    public static void setDefault(ThresholdTable table) {
+        defaultTable = table;
+    }
+
+    // Reads <directory>/<faculty>.properties; a faculty without a file uses the defaults.
+    public static ThresholdTable forFaculty(Path directory, String faculty) throws IOException {
+        Path file = directory.resolve(faculty + ".properties");
+        return Files.exists(file) ? load(file) : DEFAULTS;
+    }
+
+    public static ThresholdTable load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static ThresholdTable fromProperties(Properties properties) {
+        TreeMap<String, String> rules = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("rule.")) {
+                rules.put(key.substring("rule.".length()), properties.getProperty(key).trim());
+            }
+        }
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("At most " + MAX_RULES + " rules are supported, got " + rules.size());
+        }
+        String[] names = new String[rules.size()];
+        double[] thresholds = new double[rules.size()];
+        boolean[] below = new boolean[rules.size()];
+        int i = 0;
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            String[] parts = rule.getValue().split("\\s+");
+            if (parts.length != 2 || !(parts[0].equals("below") || parts[0].equals("atLeast"))) {
+                throw new IllegalArgumentException("Rule " + rule.getKey() + " must be 'below <score>' or 'atLeast <score>': " + rule.getValue());
+            }
+            names[i] = rule.getKey();
+            below[i] = parts[0].equals("below");
+            thresholds[i] = Double.parseDouble(parts[1]);
+            i++;
+        }
+        return new ThresholdTable(
+                number(properties, "pass", DEFAULTS.passScore),
+                number(properties, "max", DEFAULTS.maxScore),
+                number(properties, "scholarship.onTrack", DEFAULTS.onTrackScore),
+                number(properties, "scholarship.finalEligible", DEFAULTS.finalEligibleScore),
+                number(properties, "scholarship.target", DEFAULTS.targetScore),
+                names, thresholds, below);
+    }
+
+    private static double number(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        return value == null ? fallback : Double.parseDouble(value.trim());
+    }
+
+    public double getPassScore() {
+        return passScore;
+    }
+
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    public double getOnTrackScore() {
+        return onTrackScore;
+    }
+
+    public double getFinalEligibleScore() {
+        return finalEligibleScore;
+    }
+
+    public double getTargetScore() {
+        return targetScore;
+    }
+
+    // Percentage of the maximum score still missing to pass; 0 when the subject is passed.
+    public double retakeProbability(double totalScore) {
+        return totalScore < passScore ? ((passScore - totalScore) / maxScore) * 100 : 0;
+    }
+
+    public Evaluation.ScholarshipStatus scholarshipStatus(double totalScore) {
+        if (totalScore >= onTrackScore) {
+            return Evaluation.ScholarshipStatus.ON_TRACK;
+        }
+        return totalScore >= finalEligibleScore ? Evaluation.ScholarshipStatus.NEEDS_FINAL : Evaluation.ScholarshipStatus.NEEDS_IMPROVEMENT;
+    }
+
+    public double scholarshipGap(double totalScore) {
+        return totalScore >= onTrackScore ? 0 : targetScore - totalScore;
+    }
+
+    public int getRuleCount() {
+        return ruleNames.length;
+    }
+
+    public String getRuleName(int rule) {
+        return ruleNames[rule];
+    }
+
+    // Bit i is set when rule i matches this total.
+    public long matchRules(double totalScore) {
+        long matches = 0;
+        for (int i = 0; i < ruleNames.length; i++) {
+            if (ruleBelow[i] ? totalScore < ruleThresholds[i] : totalScore >= ruleThresholds[i]) {
+                matches |= 1L << i;
+            }
+        }
+        return matches;
+    }
+}
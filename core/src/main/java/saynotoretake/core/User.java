@@ -0,0 +1,9 @@
+package saynotoretake.core;
+
+// The above code is defining a Java interface named `User`. This interface can be used to define a
+// contract for classes that implement it, specifying the methods that those classes must
+// implement. Using for implementing Factory pattern.
+
+public interface User {
+    boolean authentication(String name, String password);
+}
@@ -0,0 +1,34 @@
+package saynotoretake.core;
+
+/**
+ * The UserFactory class demonstrates the Factory Method pattern.
+ * It provides a centralized way to create instances of different user types (Adviser or Student).
+ * This pattern abstracts the creation logic, making it flexible to add new user types in the future.
+ * `findUser` only resolves the user by type and name and never sees the password: a non-null result
+ * is not a login. Checking the password is left to `User.authentication` (or the `ProxyAuthentication`
+ * in front of it), so a login hashes the password once, not twice.
+ * `fromSession` resolves the user behind a valid session token without any password check.
+ */
+
+public class UserFactory {
+    public static User findUser(String userType, String name) {
+        Database db = Database.getInstance();
+
+        if ("Adviser".equalsIgnoreCase(userType)) {
+            return db.getAdviser(name);
+        } else if ("Student".equalsIgnoreCase(userType)) {
+            return db.getStudent(name);
+        }
+
+        return null;
+    }
+
+    public static User fromSession(String token) {
+        Database db = Database.getInstance();
+        SessionTokens.Session session = db.getSessions().validate(token);
+        if (session == null) {
+            return null;
+        }
+        return session.getRole() == CredentialStore.Role.ADVISER ? db.getAdviser(session.getName()) : db.getStudent(session.getName());
+    }
+}
@@ -0,0 +1,61 @@
+package saynotoretake.core;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtRiskIndexTest {
+
+    private static Student student(String adviser, String name, double quiz) {
+        Subject calculus = new BaseSubject("Calculus", Map.of("Quiz", 100.0));
+        calculus.tryAddGrade("Quiz", quiz);
+        return new Student(adviser, name, new ArrayList<>(List.of(calculus)));
+    }
+
+    private static List<String> names(Collection<AtRiskIndex.Entry> entries) {
+        List<String> names = new ArrayList<>();
+        for (AtRiskIndex.Entry entry : entries) {
+            names.add(entry.getStudent().getName());
+        }
+        return names;
+    }
+
+    @Test
+    void eachAdviserGetsAnIndexOfTheirOwnStudents() {
+        Database db = new Database();
+        db.addStudent(student("Nursat", "Kamila", 10));
+        db.addStudent(student("Nursat", "Dana", 30));
+        db.addStudent(student("Nursat", "Erlan", 80));
+        db.addStudent(student("Aliya", "Akbota", 0));
+
+        AtRiskIndex nursat = db.getAtRiskIndex("Nursat");
+
+        assertSame(nursat, db.getAtRiskIndex("Nursat"));
+        assertEquals(3, nursat.size());
+        assertEquals(List.of("Kamila", "Dana"), names(nursat.atRisk()));
+        assertEquals(List.of("Akbota"), names(db.getAtRiskIndex("Aliya").atRisk()));
+    }
+
+    @Test
+    void addedReplacedAndGradedStudentsKeepTheIndexCurrent() {
+        Database db = new Database();
+        db.addStudent(student("Nursat", "Kamila", 10));
+        AtRiskIndex nursat = db.getAtRiskIndex("Nursat");
+        AtRiskIndex aliya = db.getAtRiskIndex("Aliya");
+
+        db.addStudent(student("Nursat", "Dana", 5));
+        assertEquals(List.of("Dana", "Kamila"), names(nursat.atRisk()));
+
+        // Replaced by a student of another adviser: gone from the old index, present in the new one.
+        db.addStudent(student("Aliya", "Dana", 20));
+        assertEquals(List.of("Kamila"), names(nursat.atRisk()));
+        assertEquals(List.of("Dana"), names(aliya.atRisk()));
+
+        Student kamila = db.getStudent("Kamila");
+        kamila.getSubject("Calculus").tryAddGrade("Quiz", 60);
+        kamila.notifyObservers();
+        assertTrue(nursat.atRisk().isEmpty());
+        assertEquals(1, nursat.size());
+    }
+}
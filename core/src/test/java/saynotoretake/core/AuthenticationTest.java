@@ -0,0 +1,91 @@
+package saynotoretake.core;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticationTest {
+
+    // A low count keeps the hashing fast; the default is only checked for its value.
+    private static final int ITERATIONS = 1_000;
+
+    @Test
+    void theDefaultIterationCountFollowsOwasp() {
+        assertTrue(CredentialStore.DEFAULT_ITERATIONS >= 600_000);
+    }
+
+    @Test
+    void onlyTheEnrolledPasswordForTheRightRoleVerifies() throws Exception {
+        CredentialStore store = new CredentialStore(ITERATIONS, 1);
+        store.enroll(CredentialStore.Role.STUDENT, "Kamila", "12345");
+
+        assertTrue(store.verify(CredentialStore.Role.STUDENT, "Kamila", "12345"));
+        assertFalse(store.verify(CredentialStore.Role.STUDENT, "Kamila", "54321"));
+        assertFalse(store.verify(CredentialStore.Role.ADVISER, "Kamila", "12345"));
+        assertFalse(store.verify(CredentialStore.Role.STUDENT, "Nobody", "12345"));
+        assertFalse(store.verify(CredentialStore.Role.STUDENT, "Kamila", null));
+        assertTrue(store.verifyAsync(CredentialStore.Role.STUDENT, "Kamila", "12345").get(1, TimeUnit.MINUTES));
+    }
+
+    @Test
+    void theEncodedFormHoldsNoPasswordAndRestoresWithItsOwnIterationCount() {
+        CredentialStore source = new CredentialStore(ITERATIONS, 1);
+        source.enroll(CredentialStore.Role.ADVISER, "Nursat", "SayNo");
+        String stored = source.encoded(CredentialStore.Role.ADVISER, "Nursat");
+        assertFalse(stored.contains("SayNo"));
+
+        CredentialStore restored = new CredentialStore(ITERATIONS * 2, 1);
+        restored.restore(CredentialStore.Role.ADVISER, "Nursat", stored);
+        assertEquals(ITERATIONS, restored.get(CredentialStore.Role.ADVISER, "Nursat").getIterations());
+        assertTrue(restored.verify(CredentialStore.Role.ADVISER, "Nursat", "SayNo"));
+    }
+
+    @Test
+    void anUnreadableStoredCredentialIsNotEnrolled() {
+        CredentialStore store = new CredentialStore(ITERATIONS, 1);
+        store.restore(CredentialStore.Role.STUDENT, "Kamila", "12345");
+
+        assertNull(store.get(CredentialStore.Role.STUDENT, "Kamila"));
+        assertFalse(store.verify(CredentialStore.Role.STUDENT, "Kamila", "12345"));
+        assertEquals("", store.encoded(CredentialStore.Role.STUDENT, "Kamila"));
+    }
+
+    @Test
+    void alteredAndExpiredSessionTokensAreRejected() throws Exception {
+        SessionTokens sessions = new SessionTokens(TimeUnit.MINUTES.toMillis(30));
+        String token = sessions.issue(CredentialStore.Role.STUDENT, "Kamila");
+
+        SessionTokens.Session session = sessions.validate(token);
+        assertEquals(CredentialStore.Role.STUDENT, session.getRole());
+        assertEquals("Kamila", session.getName());
+
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("ADVISER|" + session.getExpiresAt() + "|Kamila").getBytes()) + token.substring(token.indexOf('.'));
+        assertNull(sessions.validate(forged));
+        assertNull(sessions.validate("not a token"));
+        assertNull(sessions.validate(null));
+        assertNull(new SessionTokens(TimeUnit.MINUTES.toMillis(30)).validate(token));
+
+        SessionTokens expiring = new SessionTokens(0);
+        String expired = expiring.issue(CredentialStore.Role.ADVISER, "Nursat");
+        Thread.sleep(5);
+        assertNull(expiring.validate(expired));
+    }
+
+    // findUser reads the singleton, so the names are ones no other test uses.
+    @Test
+    void findUserResolvesByTypeAndNameWithoutAPassword() {
+        Database db = Database.getInstance();
+        Adviser adviser = new Adviser("FactoryAdviser");
+        db.addAdviser(adviser);
+        Student student = new Student("FactoryAdviser", "FactoryStudent", new ArrayList<>());
+        db.addStudent(student);
+
+        assertSame(adviser, UserFactory.findUser("adviser", "FactoryAdviser"));
+        assertSame(student, UserFactory.findUser("Student", "FactoryStudent"));
+        assertNull(UserFactory.findUser("Student", "FactoryAdviser"));
+        assertNull(UserFactory.findUser("Guest", "FactoryStudent"));
+    }
+}
@@ -0,0 +1,103 @@
+package saynotoretake.core;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent grade accumulation in `BaseSubject`.
+ *
+ * Several threads add small partial scores to the same category of one subject at once, released
+ * together by a latch so their compare-and-set loops collide. The amounts are binary fractions, so the
+ * sums are exact and a lost update shows up as a wrong score, total or version.
+ */
+class BaseSubjectContentionTest {
+
+    private static final double AMOUNT = 0.25;
+    private static final int THREADS = 8;
+    private static final int GRADES_PER_THREAD = 20_000;
+
+    private static ExecutorService pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    // Every grade fits, so every grade must be applied.
+    @RepeatedTest(3)
+    void noUpdateIsLostUnderTheMaximum() throws Exception {
+        double offered = THREADS * (double) GRADES_PER_THREAD * AMOUNT;
+        Subject subject = new BaseSubject("Calculus", Map.of("Quiz", offered, "Midterm", 30.0));
+
+        long accepted = hammer(subject);
+
+        assertEquals(THREADS * (long) GRADES_PER_THREAD, accepted);
+        assertScore(subject, accepted, offered);
+    }
+
+    // More grades than fit are offered: the category must end exactly at its maximum, never above it.
+    @RepeatedTest(3)
+    void theMaximumIsNeverExceeded() throws Exception {
+        double maximum = Math.floor(THREADS * (double) GRADES_PER_THREAD * AMOUNT / 2);
+        Subject subject = new BaseSubject("Calculus", Map.of("Quiz", maximum, "Midterm", 30.0));
+
+        long accepted = hammer(subject);
+
+        assertEquals((long) (maximum / AMOUNT), accepted);
+        assertScore(subject, accepted, maximum);
+    }
+
+    @Test
+    void nonFiniteAmountsLeaveTheSubjectUntouched() {
+        Subject subject = new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0));
+        subject.tryAddGrade("Quiz", 10.0);
+
+        for (double amount : new double[] {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}) {
+            assertFalse(subject.tryAddGrade("Quiz", amount), "accepted " + amount);
+        }
+        assertEquals(10.0, subject.getGrades().get("Quiz"));
+        assertEquals(10.0, subject.getTotalScore());
+        assertEquals(1, subject.getVersion());
+    }
+
+    private static long hammer(Subject subject) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        LongAdder accepted = new LongAdder();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < GRADES_PER_THREAD; i++) {
+                    if (subject.tryAddGrade("Quiz", AMOUNT)) {
+                        accepted.increment();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        return accepted.sum();
+    }
+
+    private static void assertScore(Subject subject, long accepted, double expectedScore) {
+        assertEquals(expectedScore, subject.getGrades().get("Quiz"));
+        assertEquals(accepted * AMOUNT, subject.getGrades().get("Quiz"));
+        assertEquals(expectedScore, subject.getTotalScore());
+        assertEquals(accepted, subject.getVersion());
+    }
+}
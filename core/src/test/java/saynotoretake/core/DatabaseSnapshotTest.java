@@ -0,0 +1,155 @@
+package saynotoretake.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writtenSnapshotLoadsBackStudentsAdvisersAndCredentials() throws IOException {
+        Database source = new Database();
+        source.setAdviser(new Adviser("Nursat"));
+        source.addAdviser(new Adviser("Aliya"));
+        source.getCredentials().enroll(CredentialStore.Role.ADVISER, "Nursat", "SayNo");
+        source.getCredentials().enroll(CredentialStore.Role.STUDENT, "Kamila", "12345");
+        Subject calculus = new BonusDecoratorSubject(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0)), 5.0);
+        calculus.tryAddGrade("Quiz", 12.5);
+        Subject turkish = new BaseSubject("Turkish language", Map.of("Midterm", 30.0, "Ders", 30.0));
+        turkish.tryAddGrade("Ders", 20.0);
+        source.addStudent(new Student("Nursat", "Kamila", new ArrayList<>(List.of(calculus))));
+        source.addStudent(new Student("Aliya", "Akbota", new ArrayList<>(List.of(turkish))));
+        Path file = dir.resolve("database.snapshot");
+        DatabaseSnapshot.write(source, file, 7);
+
+        DatabaseSnapshot snapshot = DatabaseSnapshot.open(file);
+        assertEquals(7, snapshot.getJournalSegment());
+        assertEquals(2, snapshot.getStudentCount());
+        Database db = new Database();
+        db.attachSnapshot(snapshot);
+
+        assertEquals("Nursat", db.getAdviser().getName());
+        assertNotNull(db.getAdviser("Aliya"));
+        assertNull(db.getStudent("Nobody"));
+        Subject loaded = db.getStudent("Kamila").getSubject("Calculus");
+        assertEquals(5.0, ((BonusDecoratorSubject) loaded).getBonus());
+        assertEquals(calculus.getGrades(), loaded.getGrades());
+        assertEquals(calculus.getTotalScore(), loaded.getTotalScore());
+        assertEquals(turkish.getGrades(), db.getStudent("Akbota").getSubject("Turkish language").getGrades());
+        assertEquals(Set.of("Akbota"), names(db.getStudentsOfAdviser("Aliya")));
+        assertTrue(db.getCredentials().verify(CredentialStore.Role.STUDENT, "Kamila", "12345"));
+        assertFalse(db.getCredentials().verify(CredentialStore.Role.STUDENT, "Kamila", "54321"));
+        assertTrue(db.getCredentials().verify(CredentialStore.Role.ADVISER, "Nursat", "SayNo"));
+    }
+
+    @Test
+    void aVersionOneFileIsRejected() throws IOException {
+        Path file = dir.resolve("old.snapshot");
+        Files.write(file, ByteBuffer.allocate(64).putInt(0x534E5253).putInt(1).array());
+        assertThrows(IOException.class, () -> DatabaseSnapshot.open(file));
+    }
+
+    private static Set<String> names(Collection<Student> students) {
+        Set<String> names = new HashSet<>();
+        for (Student student : students) {
+            names.add(student.getName());
+        }
+        return names;
+    }
+
+    // Writers go through Student.addGrade, which journals into the singleton's journal, so the grading side
+    // uses Database.getInstance() with student names no other test uses; the reload goes into a fresh Database.
+    @Test
+    void checkpointWhileGradingKeepsEveryGradeExactlyOnce() throws Exception {
+        Database db = Database.getInstance();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            List<Subject> subjects = new ArrayList<>(List.of(new BaseSubject("Calculus", Map.of("Quiz", 1_000_000.0))));
+            Student student = new Student("CheckpointAdviser", "CheckpointStudent" + i, subjects);
+            db.addStudent(student);
+            students.add(student);
+        }
+        Path snapshotFile = dir.resolve("database.snapshot");
+        Path journalDir = dir.resolve("journal");
+
+        GradeJournal journal = GradeJournal.open(journalDir, db);
+        db.setJournal(journal);
+        ExecutorService writers = Executors.newFixedThreadPool(students.size());
+        try {
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Student student : students) {
+                futures.add(writers.submit(() -> {
+                    while (running.get()) {
+                        student.addGrade("Calculus", "Quiz", 1.0);
+                    }
+                }));
+            }
+            for (int i = 0; i < 25; i++) {
+                DatabaseSnapshot.checkpoint(db, journal, snapshotFile);
+                Thread.sleep(2);
+            }
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+            db.setJournal(null);
+            journal.close();
+        }
+
+        Database reloaded = new Database();
+        DatabaseSnapshot snapshot = DatabaseSnapshot.open(snapshotFile);
+        reloaded.attachSnapshot(snapshot);
+        GradeJournal.open(journalDir, reloaded, snapshot.getJournalSegment()).close();
+        for (Student student : students) {
+            double expected = student.getSubject("Calculus").getTotalScore();
+            assertTrue(expected > 0, "no grade was written for " + student.getName());
+            assertEquals(expected, reloaded.getStudent(student.getName()).getSubject("Calculus").getTotalScore(),
+                    student.getName());
+        }
+    }
+
+    @Test
+    void concurrentListingOfAnAdviserSeesTheWholeGroup() throws Exception {
+        Database source = new Database();
+        int groupSize = 2000;
+        for (int i = 0; i < groupSize; i++) {
+            source.addStudent(new Student("GroupAdviser", "GroupStudent" + i, new ArrayList<>()));
+        }
+        Path snapshotFile = dir.resolve("group.snapshot");
+        DatabaseSnapshot.write(source, snapshotFile, 0);
+
+        Database db = new Database();
+        db.attachSnapshot(DatabaseSnapshot.open(snapshotFile));
+        int readers = 4;
+        CyclicBarrier start = new CyclicBarrier(readers);
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<Integer>> sizes = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                sizes.add(pool.submit(() -> {
+                    start.await();
+                    return db.getStudentsOfAdviser("GroupAdviser").size();
+                }));
+            }
+            for (Future<Integer> size : sizes) {
+                assertEquals(groupSize, size.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package saynotoretake.core;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeEventStreamTest {
+
+    private static final double AMOUNT = 0.25;
+
+    // Collects every event and counts down once the stream completes.
+    private static final class Collector implements Flow.Subscriber<List<GradeEvent>> {
+        final List<GradeEvent> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<GradeEvent> batch) {
+            events.addAll(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+    // Student.addGrade publishes to the singleton's stream, so the grading side uses Database.getInstance()
+    // with a student name no other test uses.
+    @Test
+    void concurrentGradesPublishTheScoresTheyReplaced() throws Exception {
+        int threads = 4;
+        int gradesPerThread = 500;
+        Database db = Database.getInstance();
+        List<Subject> subjects = new ArrayList<>(List.of(new BaseSubject("Calculus", Map.of("Quiz", 1_000.0))));
+        Student student = new Student("EventAdviser", "EventStudent", subjects);
+        db.addStudent(student);
+        GradeEventStream stream = new GradeEventStream(64, 10, Flow.defaultBufferSize(), ObserverDispatcher.Backpressure.BLOCK);
+        Collector collector = new Collector();
+        stream.subscribe(collector);
+        db.setEventStream(stream);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < gradesPerThread; i++) {
+                        student.addGrade("Calculus", "Quiz", AMOUNT);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdown();
+            db.setEventStream(null);
+            stream.close();
+        }
+        assertTrue(collector.completed.await(1, TimeUnit.MINUTES));
+
+        // Each grade replaced a different score, so sorted by old score the events form one unbroken chain.
+        List<GradeEvent> events = new ArrayList<>(collector.events);
+        events.sort(Comparator.comparingDouble(GradeEvent::getOldScore));
+        assertEquals(threads * gradesPerThread, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i * AMOUNT, events.get(i).getOldScore());
+            assertEquals((i + 1) * AMOUNT, events.get(i).getNewScore());
+        }
+    }
+
+    // A subscriber that takes one batch and then stops requesting, so the publisher's buffer fills up.
+    private static final class Stalled implements Flow.Subscriber<List<GradeEvent>> {
+        volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<GradeEvent> batch) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Test
+    void aPublisherBlockedOnAFullBufferDoesNotBlockOtherPublishers() throws Exception {
+        GradeEventStream stream = new GradeEventStream(2, 60_000, 1, ObserverDispatcher.Backpressure.BLOCK);
+        Stalled subscriber = new Stalled();
+        stream.subscribe(subscriber);
+        GradeEvent event = new GradeEvent(new Student("StreamAdviser", "StreamStudent", new ArrayList<>()), "Calculus", "Quiz", 0, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flooding = pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    stream.publish(event);
+                }
+            });
+            // Wait until the flooding thread is stuck handing a full batch to the stalled subscriber.
+            long published = -1;
+            for (int i = 0; i < 100 && stream.getPublishedCount() != published; i++) {
+                published = stream.getPublishedCount();
+                Thread.sleep(50);
+            }
+            assertFalse(flooding.isDone(), "the stalled subscriber never blocked the publisher");
+
+            Future<?> single = pool.submit(() -> stream.publish(event));
+            single.get(5, TimeUnit.SECONDS);
+        } finally {
+            subscriber.subscription.request(Long.MAX_VALUE);
+            pool.shutdown();
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package saynotoretake.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static Database database() {
+        Database db = new Database();
+        for (String name : List.of("Kamila", "Akbota")) {
+            List<Subject> subjects = new ArrayList<>(List.of(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0))));
+            db.addStudent(new Student("Nursat", name, subjects));
+        }
+        return db;
+    }
+
+    private static double score(Database db, String student, String category) {
+        return db.getStudent(student).getSubject("Calculus").getGrades().get(category);
+    }
+
+    private Path file(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csvRowsAreAppliedAndBadRowsReportedWithTheirLine() throws IOException {
+        Database db = database();
+        Path csv = file("grades.csv", String.join("\n",
+                "student,subject,category,score",
+                "Kamila,Calculus,Quiz,12.5",
+                "Nobody,Calculus,Quiz,1",
+                "Kamila,calculus,Midterm,7",
+                "Kamila,Calculus,Quiz,NaN",
+                "Akbota,Calculus,Quiz,.",
+                "Akbota,Calculus,Quiz,41",
+                "Akbota,Calculus,Quiz,3") + "\n");
+
+        GradeImporter.ImportResult result = new GradeImporter(db).importFile(csv, GradeImporter.Format.CSV);
+
+        assertEquals(7, result.getRowsRead());
+        assertEquals(3, result.getRowsApplied());
+        assertEquals(4, result.getErrorCount());
+        List<Long> lines = new ArrayList<>();
+        for (GradeImporter.ImportError error : result.getErrors()) {
+            lines.add(error.getLine());
+        }
+        assertEquals(List.of(3L, 5L, 6L, 7L), lines);
+        assertEquals(12.5, score(db, "Kamila", "Quiz"));
+        assertEquals(7.0, score(db, "Kamila", "Midterm"));
+        assertEquals(3.0, score(db, "Akbota", "Quiz"));
+    }
+
+    @Test
+    void ndjsonRowsAreApplied() throws IOException {
+        Database db = database();
+        Path ndjson = file("grades.ndjson",
+                "{\"student\": \"Kamila\", \"subject\": \"Calculus\", \"category\": \"Quiz\", \"score\": 12.5}\n"
+                + "{\"student\": \"Akbota\", \"subject\": \"Calculus\", \"category\": \"Midterm\", \"score\": 30}\n");
+
+        GradeImporter.ImportResult result = new GradeImporter(db).importFile(ndjson, GradeImporter.Format.NDJSON);
+
+        assertEquals(2, result.getRowsApplied());
+        assertEquals(0, result.getErrorCount());
+        assertEquals(12.5, score(db, "Kamila", "Quiz"));
+        assertEquals(30.0, score(db, "Akbota", "Midterm"));
+    }
+
+    // Tiny chunks parsed on several threads: every row is applied once and line numbers stay file-wide.
+    @Test
+    void smallChunksKeepTotalsAndLineNumbers() throws IOException {
+        Database db = database();
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 160; i++) {
+            csv.append(i % 2 == 0 ? "Kamila" : "Akbota").append(",Calculus,Quiz,0.25\n");
+        }
+        csv.append("Kamila,Calculus,Exam,1\n");
+
+        GradeImporter.ImportResult result = new GradeImporter(db, 64, 4, 10).importFile(file("many.csv", csv.toString()), GradeImporter.Format.CSV);
+
+        assertEquals(161, result.getRowsRead());
+        assertEquals(160, result.getRowsApplied());
+        assertEquals(161, result.getErrors().get(0).getLine());
+        assertEquals(20.0, score(db, "Kamila", "Quiz"));
+        assertEquals(20.0, score(db, "Akbota", "Quiz"));
+    }
+}
@@ -0,0 +1,116 @@
+package saynotoretake.core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Database database() {
+        Database db = new Database();
+        List<Subject> subjects = new ArrayList<>(List.of(new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0))));
+        db.addStudent(new Student("Nursat", "Kamila", subjects));
+        return db;
+    }
+
+    private static double score(Database db, String category) {
+        return db.getStudent("Kamila").getSubject("Calculus").getGrades().get(category);
+    }
+
+    @Test
+    void appendedGradesAreReplayedIntoAFreshDatabase() throws IOException {
+        // A small segment size makes the journal roll over several times.
+        GradeJournal journal = GradeJournal.open(dir, database(), 0, 256);
+        for (int i = 0; i < 20; i++) {
+            journal.append("Kamila", "Calculus", "Quiz", 1.5);
+        }
+        journal.append("Kamila", "Calculus", "Midterm", 12.0);
+        journal.close();
+
+        Database reloaded = database();
+        GradeJournal.open(dir, reloaded).close();
+        assertEquals(30.0, score(reloaded, "Quiz"));
+        assertEquals(12.0, score(reloaded, "Midterm"));
+    }
+
+    @Test
+    void reopeningTheCompactedJournalAppliesEveryGradeOnce() throws IOException {
+        GradeJournal journal = GradeJournal.open(dir, database());
+        journal.append("Kamila", "Calculus", "Quiz", 10.0);
+        journal.append("Kamila", "Calculus", "Quiz", 5.0);
+        journal.close();
+
+        GradeJournal.open(dir, database()).close();
+        Database reloaded = database();
+        GradeJournal.open(dir, reloaded).close();
+        assertEquals(15.0, score(reloaded, "Quiz"));
+    }
+
+    @Test
+    void aTornRecordEndsTheReplay() throws IOException {
+        GradeJournal journal = GradeJournal.open(dir, database());
+        journal.append("Kamila", "Calculus", "Quiz", 10.0);
+        long end = journal.append("Kamila", "Calculus", "Quiz", 5.0);
+        journal.close();
+
+        // The grade records are the first ones in the newest segment, so `end` is a file offset there;
+        // flipping a byte of the last record's delta breaks its CRC like a write cut off by a crash.
+        Path newest = segments().get(segments().size() - 1);
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int offset = (int) end - 5;
+            buffer.put(offset, (byte) (buffer.get(offset) ^ 0x55));
+            buffer.force();
+        }
+
+        Database reloaded = database();
+        GradeJournal.open(dir, reloaded).close();
+        assertEquals(10.0, score(reloaded, "Quiz"));
+    }
+
+    @Test
+    void segmentsBeforeTheFirstSegmentAreSkipped() throws IOException {
+        GradeJournal journal = GradeJournal.open(dir, database());
+        journal.append("Kamila", "Calculus", "Quiz", 10.0);
+        int firstSegment = journal.startNewSegment();
+        journal.append("Kamila", "Calculus", "Midterm", 7.0);
+        journal.close();
+
+        Database reloaded = database();
+        GradeJournal.open(dir, reloaded, firstSegment).close();
+        assertEquals(0.0, score(reloaded, "Quiz"));
+        assertEquals(7.0, score(reloaded, "Midterm"));
+    }
+
+    @Test
+    void anUnfinishedCheckpointIsDeletedAndIgnored() throws IOException {
+        GradeJournal journal = GradeJournal.open(dir, database());
+        journal.append("Kamila", "Calculus", "Quiz", 10.0);
+        journal.close();
+        Path unfinished = dir.resolve("journal-00000099.seg.tmp");
+        Files.write(unfinished, new byte[] {3, 1, 2, 3});
+
+        Database reloaded = database();
+        GradeJournal.open(dir, reloaded).close();
+        assertFalse(Files.exists(unfinished));
+        assertEquals(10.0, score(reloaded, "Quiz"));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(p -> p.getFileName().toString().endsWith(".seg")).sorted().forEach(segments::add);
+            return segments;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package saynotoretake.core;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObserverDispatcherTest {
+
+    // Holds the single worker inside its first delivery until released, so later notifications queue up.
+    private static final class Blocker implements Observer {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void update(Student student) {
+            entered.countDown();
+            try {
+                release.await(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Records what each delivery carried: a summary, or "plain" for an update without one.
+    private static final class Recorder implements Observer {
+        final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void update(Student student) {
+            received.add("plain");
+        }
+
+        @Override
+        public void update(Student student, GradeBatch.Summary summary) {
+            received.add(summary);
+        }
+    }
+
+    private static Student student(String adviser, String name) {
+        return new Student(adviser, name, new ArrayList<>(List.of(new BaseSubject("Calculus", Map.of("Quiz", 40.0)))));
+    }
+
+    private static Student blockWorker(ObserverDispatcher dispatcher, Blocker blocker) throws InterruptedException {
+        Student blocked = student("DispatchAdviser", "DispatchBlocked");
+        blocked.addObserver(blocker);
+        dispatcher.dispatch(blocked);
+        assertTrue(blocker.entered.await(1, TimeUnit.MINUTES));
+        return blocked;
+    }
+
+    @Test
+    void asyncDeliveryKeepsEveryMergedSummary() throws Exception {
+        ObserverDispatcher dispatcher = ObserverDispatcher.async(16, 1, ObserverDispatcher.Backpressure.BLOCK);
+        Blocker blocker = new Blocker();
+        try {
+            blockWorker(dispatcher, blocker);
+            Student student = student("DispatchAdviser", "DispatchBatches");
+            Recorder recorder = new Recorder();
+            student.addObserver(recorder);
+            GradeBatch.Summary first = new GradeBatch.Summary(student, new ArrayList<>(), new ArrayList<>());
+            GradeBatch.Summary second = new GradeBatch.Summary(student, new ArrayList<>(), new ArrayList<>());
+
+            dispatcher.dispatch(student, first);
+            dispatcher.dispatch(student);
+            dispatcher.dispatch(student, second);
+            blocker.release.countDown();
+            dispatcher.flush();
+
+            assertEquals(List.of(first, second), recorder.received);
+        } finally {
+            blocker.release.countDown();
+            dispatcher.shutdown();
+        }
+    }
+
+    // Adviser.renderReports reads the singleton's groups, so the student goes into Database.getInstance()
+    // under an adviser name no other test uses.
+    @Test
+    void aDroppedNotificationStillInvalidatesTheAdvisersReport() throws Exception {
+        ObserverDispatcher dispatcher = ObserverDispatcher.async(1, 1, ObserverDispatcher.Backpressure.DROP);
+        Blocker blocker = new Blocker();
+        try {
+            Adviser adviser = new Adviser("DropAdviser");
+            Student student = student("DropAdviser", "DropStudent");
+            student.addObserver(adviser);
+            Database.getInstance().addStudent(student);
+            assertTrue(adviser.renderReports().contains("Calculus: 0.0"));
+
+            blockWorker(dispatcher, blocker);
+            dispatcher.dispatch(student("DispatchAdviser", "DispatchQueued"));
+            student.getSubject("Calculus").tryAddGrade("Quiz", 12.5);
+            dispatcher.dispatch(student);
+
+            assertEquals(1, dispatcher.getDroppedCount());
+            assertTrue(adviser.renderReports().contains("Calculus: 12.5"));
+        } finally {
+            blocker.release.countDown();
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void aReplacedStudentIsForgottenByItsAdviser() {
+        Database db = new Database();
+        Adviser adviser = new Adviser("Nursat");
+        db.addAdviser(adviser);
+        AtomicInteger notified = new AtomicInteger();
+        adviser.setReportsListener(student -> notified.incrementAndGet());
+        Student original = student("Nursat", "Kamila");
+        original.addObserver(adviser);
+        db.addStudent(original);
+
+        db.addStudent(student("Nursat", "Kamila"));
+        ObserverDispatcher.sync().dispatch(original);
+
+        assertEquals(0, notified.get());
+    }
+}
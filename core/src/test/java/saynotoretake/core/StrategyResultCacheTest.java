@@ -0,0 +1,82 @@
+package saynotoretake.core;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StrategyResultCacheTest {
+
+    // Counts its evaluations and, like a strategy written without equals, never equals another instance.
+    private static final class Counting implements Strategy {
+        private final AtomicInteger calls;
+
+        Counting(AtomicInteger calls) {
+            this.calls = calls;
+        }
+
+        @Override
+        public void evaluate(Student student, Evaluation result) {
+            calls.incrementAndGet();
+        }
+
+        @Override
+        public String render(Evaluation result) {
+            return "counted";
+        }
+    }
+
+    private static Student student() {
+        Subject calculus = new BaseSubject("Calculus", Map.of("Quiz", 40.0, "Midterm", 30.0));
+        calculus.tryAddGrade("Quiz", 20.0);
+        return new Student("Nursat", "Kamila", new ArrayList<>(List.of(calculus)));
+    }
+
+    @Test
+    void equalStrategiesShareTheEntryUntilTheGradesChange() {
+        Student student = student();
+        StrategyResultCache cache = new StrategyResultCache();
+        long hits = GradingEngine.getStrategyCacheHits();
+
+        String first = cache.get(new RetakeStrategy(), student);
+        assertSame(first, cache.get(new RetakeStrategy(), student));
+        assertEquals(hits + 1, GradingEngine.getStrategyCacheHits());
+
+        student.getSubject("Calculus").tryAddGrade("Quiz", 15.0);
+        String updated = cache.get(new RetakeStrategy(), student);
+        assertNotSame(first, updated);
+        assertEquals(new RetakeStrategy().calculate(student), updated);
+    }
+
+    @Test
+    void strategiesWithDifferentThresholdsDoNotShareAnEntry() {
+        Student student = student();
+        StrategyResultCache cache = new StrategyResultCache();
+        Properties lenient = new Properties();
+        lenient.setProperty("pass", "10");
+        Strategy strict = new RetakeStrategy();
+        Strategy easy = new RetakeStrategy(ThresholdTable.fromProperties(lenient));
+        assertNotEquals(strict.calculate(student), easy.calculate(student));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(strict.calculate(student), cache.get(strict, student));
+            assertEquals(easy.calculate(student), cache.get(easy, student));
+        }
+    }
+
+    @Test
+    void aStrategyWithoutEqualsIsRecomputedAndDoesNotGrowTheCache() {
+        Student student = student();
+        StrategyResultCache cache = new StrategyResultCache();
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("counted", cache.get(new Counting(calls), student));
+        }
+        cache.get(new RetakeStrategy(), student);
+
+        assertEquals(1_000, calls.get());
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,63 @@
+package saynotoretake.ui;
+
+/**
+ * Class: NavigationController
+ *
+ * Purpose:
+ * Owns the one `Scene` of the application and switches between screens by swapping its root, instead
+ * of every navigation method building a new 900x800 scene and parsing `styles.css` again.
+ *
+ * Key Points:
+ * - The stylesheet is resolved and attached once, when the scene is created. Without one (null) the
+ *   screens use the default JavaFX look.
+ * - Each screen is built by its factory the first time it is shown and cached under its key; later
+ *   visits only rebind the cached root. Data that changes per user reaches the cached nodes through
+ *   properties and observable lists, not through rebuilding them.
+ * - `evict` drops a cached screen whose layout depends on the logged-in user, so it is rebuilt on
+ *   the next visit.
+ */
+
+import java.util.*;
+import java.util.function.Supplier;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+final class NavigationController {
+
+    private final Scene scene;
+    private final Map<String, Supplier<Parent>> factories = new HashMap<>();
+    private final Map<String, Parent> screens = new HashMap<>();
+
+    NavigationController(Stage stage, String stylesheet, double width, double height) {
+        this.scene = new Scene(new VBox(0), width, height);
+        if (stylesheet != null) {
+            scene.getStylesheets().add(stylesheet);
+        }
+        stage.setScene(scene);
+    }
+
+    void register(String key, Supplier<Parent> factory) {
+        factories.put(key, factory);
+    }
+
+    void show(String key) {
+        Parent root = screens.get(key);
+        if (root == null) {
+            Supplier<Parent> factory = factories.get(key);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown screen: " + key);
+            }
+            root = factory.get();
+            screens.put(key, root);
+        }
+        if (scene.getRoot() != root) {
+            scene.setRoot(root);
+        }
+    }
+
+    void evict(String key) {
+        screens.remove(key);
+    }
+}
@@ -0,0 +1,649 @@
+package saynotoretake.ui;
+
+/**
+ * Project Name: SayNoToRETAKE
+ * Authors: Member1: 230103310, Nessipbay Kamila:)
+ *          Member2: 230103276, Akbota Kurman
+ *          Member3: 230103216, Nurkanat Bagdatuly
+ *
+ * Overview:
+ * This project is designed to facilitate academic interaction between students and advisers. 
+ * It features a JavaFX-based GUI for managing grades, calculating retake probabilities, and 
+ * assessing scholarship eligibility. The implementation demonstrates six key design patterns 
+ * (Singleton, Factory, Decorator, Proxy, Observer, Strategy) and adheres to clean code principles.
+ *
+ * Key Features:
+ * - User authentication for advisers and students.
+ * - Adviser dashboard for viewing student reports.
+ * - Student functionalities for grade management and performance analysis.
+ * - Modular and scalable codebase.
+ *
+ * Design Patterns Used:
+ * 1. Singleton: Ensures a single instance of the database.
+ * 2. Factory: Abstracts user creation logic.
+ * 3. Decorator: Dynamically adds bonus scores to subjects.
+ * 4. Proxy: Validates student-adviser relationships.
+ * 5. Observer: Notifies advisers of grade updates.
+ * 6. Strategy: Encapsulates retake and scholarship algorithms.
+ * 
+ * P.S(Fisrt part is implemention user interface by using javaFX, and second part is implementing patterns(Proxy, Strategy, Singleton, Observer, Factory, Decorator))
+ */
+
+import saynotoretake.core.*;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.Parent;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.stage.Stage;
+
+public class SayNoToRETAKE extends Application {
+
+    private static final String LOGIN = "login";
+    private static final String ADVISER_MENU = "adviserMenu";
+    private static final String REPORTS = "reports";
+    private static final String AT_RISK = "atRisk";
+    private static final String STUDENT_MENU = "studentMenu";
+    private static final String STUDENT_REPORT = "studentReport";
+    private static final String RETAKE = "retake";
+    private static final String SCHOLARSHIP = "scholarship";
+    private static final String ADD_GRADES = "addGrades";
+
+    private Stage primaryStage;
+    private NavigationController navigation;
+    private Student student;
+    private Adviser adviser;
+    private String sessionToken;
+    private Alert alert;
+
+    // Per-user data of the cached screens; the screens bind to these instead of being rebuilt.
+    private final StringProperty loginPassword = new SimpleStringProperty("");
+    private final StringProperty studentReportText = new SimpleStringProperty("");
+    private final StringProperty retakeText = new SimpleStringProperty("");
+    private final StringProperty scholarshipText = new SimpleStringProperty("");
+    private final StringProperty atRiskText = new SimpleStringProperty("");
+    private final ObservableList<String> studentSubjectNames = FXCollections.observableArrayList();
+    private final ObservableList<Student> adviserStudents = FXCollections.observableArrayList();
+
+    private TableView<Student> reportsTable;
+    private Consumer<Set<Student>> reportsRefresh;
+    // Grade notifications arrive on whatever thread recorded the grade; they are batched onto the FX thread.
+    private final RefreshScheduler<Student> reportsScheduler = new RefreshScheduler<>(Platform::runLater, changed -> {
+        if (reportsRefresh != null) {
+            reportsRefresh.accept(changed);
+        }
+    });
+    
+    @Override
+    public void start(Stage primaryStage) {
+        this.primaryStage = primaryStage;
+        GradingEngine.loadThresholds(Paths.get("thresholds"), "default");
+        GradingEngine.start(Paths.get("database.snapshot"), Paths.get("journal"));
+        adviser = Database.getInstance().getAdviser();
+
+        URL stylesheet = getClass().getResource("styles.css");
+        if (stylesheet == null) {
+            System.out.println("styles.css not found on the classpath; using the default look.");
+        }
+        navigation = new NavigationController(primaryStage, stylesheet == null ? null : stylesheet.toExternalForm(), 900, 800);
+        navigation.register(LOGIN, this::buildLoginScreen);
+        navigation.register(ADVISER_MENU, this::buildAdviserMenu);
+        navigation.register(REPORTS, this::buildStudentsReportsToAdviser);
+        navigation.register(AT_RISK, this::buildAtRiskStudents);
+        navigation.register(STUDENT_MENU, this::buildStudentMenu);
+        navigation.register(STUDENT_REPORT, this::buildStudentReport);
+        navigation.register(RETAKE, this::buildRetakeProbability);
+        navigation.register(SCHOLARSHIP, this::buildScholarshipProbability);
+        navigation.register(ADD_GRADES, this::buildAddGradesMenu);
+
+        primaryStage.setTitle("Say no to RETAKE");
+        showLoginScreen();
+        primaryStage.show();
+    }
+
+    @Override
+    public void stop() {
+        GradingEngine.stop();
+    }
+
+    private void showLoginScreen() {
+        loginPassword.set("");
+        navigation.show(LOGIN);
+    }
+
+    /**
+     * The `buildLoginScreen` method creates a JavaFX login screen with fields for user type, name,
+     * password, and adviser name, allowing users to log in as either an adviser or a student.
+     */
+    private Parent buildLoginScreen() {
+        VBox loginLayout = new VBox(10);
+        loginLayout.getStyleClass().add("login-layout");
+
+        Label userTypeLabel = new Label("Enter user type (Adviser/Student):");
+        TextField userTypeField = new TextField();
+
+        Label nameLabel = new Label("Enter your name:");
+        TextField nameField = new TextField();
+
+        Label passwordLabel = new Label("Enter your password:");
+        PasswordField passwordField = new PasswordField();
+        passwordField.textProperty().bindBidirectional(loginPassword);
+
+        Label adviserLabel = new Label("Enter your adviser name (for students):");
+        TextField adviserField = new TextField();
+        adviserLabel.setVisible(false);
+        adviserField.setVisible(false);
+
+        userTypeField.textProperty().addListener((obs, oldVal, newVal) -> {
+            boolean isStudent = "Student".equalsIgnoreCase(newVal);
+            adviserLabel.setVisible(isStudent);
+            adviserField.setVisible(isStudent);
+        });
+
+        Button loginButton = new Button("Login");
+        loginButton.getStyleClass().add("login-button");
+        loginButton.setOnAction(e -> {
+            String userType = userTypeField.getText();
+            String name = nameField.getText();
+            String password = passwordField.getText();
+            String adviserName = adviserField.getText();
+
+            User user = UserFactory.findUser(userType, name);
+            if (user == null) {
+                if (!"Adviser".equalsIgnoreCase(userType) && !"Student".equalsIgnoreCase(userType)) {
+                    showAlert("Error", "User creation failed. Incorrect user type: " + userType);
+                    return;
+                }
+                // An unknown name still costs a full hash, so it cannot be told apart by timing.
+                CredentialStore.Role role = "Adviser".equalsIgnoreCase(userType) ? CredentialStore.Role.ADVISER : CredentialStore.Role.STUDENT;
+                authenticateAsync((n, p) -> Database.getInstance().getCredentials().verify(role, n, p), name, password, loginButton,
+                        () -> { }, "Wrong name or password.");
+                return;
+            }
+
+            if (user instanceof Adviser) {
+                authenticateAsync(user, name, password, loginButton, () -> {
+                    this.adviser = (Adviser) user;
+                    sessionToken = Database.getInstance().getSessions().issue(CredentialStore.Role.ADVISER, name);
+                    adviser.setReportsListener(reportsScheduler::submit);
+                    // The reports table's subject columns depend on the adviser's students.
+                    navigation.evict(REPORTS);
+                    showAdviserMenu();
+                }, "Wrong name or password for adviser.");
+            } else if (user instanceof Student) {
+                if (adviserName == null || adviserName.isEmpty()) {
+                    showAlert("Error", "Adviser name is required for student authentication.");
+                    return;
+                }
+
+                // The code snippet is performing the following actions:
+                // 1. Creating a ProxyAuthentication object with user, adviserName, and the adviser
+                // registered under that name (not the adviser who last logged in).
+                // 2. Checking if the authentication using the name and password provided is successful
+                // by calling the authentication method on the proxy object (off the FX thread). If
+                // authentication fails, an error message is shown.
+                // 3. Casting the user object to a Student object, issuing its session token and setting
+                // up the student's subjects.
+                // 4. Adding that adviser as an observer to the student (ignored if it is already registered).
+                // 5. Displaying the student menu.
+
+                Adviser studentAdviser = Database.getInstance().getAdviser(adviserName);
+                ProxyAuthentication proxy = new ProxyAuthentication(user, adviserName, studentAdviser);
+                authenticateAsync(proxy, name, password, loginButton, () -> {
+                    student = (Student) user;
+                    sessionToken = Database.getInstance().getSessions().issue(CredentialStore.Role.STUDENT, name);
+                    SampleData.setupStudentSubjects(student);
+                    student.addObserver(studentAdviser);
+                    List<String> names = new ArrayList<>();
+                    student.getSubjects().forEach(subject -> names.add(subject.getName()));
+                    studentSubjectNames.setAll(names);
+
+                    showStudentMenu();
+                }, "Wrong name, password, or adviser name.");
+            }
+        });
+
+        loginLayout.getChildren().addAll(userTypeLabel, userTypeField, nameLabel, nameField, passwordLabel, passwordField, adviserLabel, adviserField, loginButton);
+        return loginLayout;
+    }
+
+/**
+* The function 'authenticateAsync' checks a password on the credential store's verifier threads, so a
+* slow hash never freezes the window. The login button is disabled meanwhile, and the outcome is
+* handled back on the FX thread: 'onSuccess' runs, or an error alert with 'failure' is shown.
+*/
+    private void authenticateAsync(User user, String name, String password, Button loginButton, Runnable onSuccess, String failure) {
+        loginButton.setDisable(true);
+        CompletableFuture.supplyAsync(() -> user.authentication(name, password), Database.getInstance().getCredentials().getVerifier())
+                .whenComplete((accepted, error) -> Platform.runLater(() -> {
+                    loginButton.setDisable(false);
+                    if (Boolean.TRUE.equals(accepted)) {
+                        onSuccess.run();
+                    } else {
+                        showAlert("Error", failure);
+                    }
+                }));
+    }
+
+    private void showAdviserMenu() {
+        navigation.show(ADVISER_MENU);
+    }
+
+    /**
+     * The `buildAdviserMenu` function creates a menu layout with buttons to view students' reports and
+     * logout in a Java application.
+     */
+    private Parent buildAdviserMenu() {
+        VBox adviserMenu = new VBox(10);
+        adviserMenu.getStyleClass().add("menu-layout");
+
+        Button viewReportsButton = new Button("View Students' Reports");
+        viewReportsButton.getStyleClass().add("menu-button");
+
+        Button atRiskButton = new Button("Most Likely to Retake");
+        atRiskButton.getStyleClass().add("menu-button");
+
+        Button logoutButton = new Button("Logout");
+        logoutButton.getStyleClass().add("menu-button");
+
+        viewReportsButton.setOnAction(e -> showStudentsReportsToAdviser());
+        atRiskButton.setOnAction(e -> showAtRiskStudents());
+        logoutButton.setOnAction(e -> logout());
+
+        adviserMenu.getChildren().addAll(viewReportsButton, atRiskButton, logoutButton);
+        return adviserMenu;
+    }
+
+    // Students added since the last visit show up; the table itself is kept.
+    private void showStudentsReportsToAdviser() {
+        adviserStudents.setAll(Database.getInstance().getStudentsOfAdviser(adviser.getName()));
+        navigation.show(REPORTS);
+    }
+
+    /**
+     * The function `buildStudentsReportsToAdviser` shows the adviser's students in a table: one row per
+     * student, one column per subject total. The table is virtualized, so only the visible rows are
+     * built, and cells read the totals from the students when they are drawn. Sorting and the name /
+     * at-risk filters work on views over the same list instead of rebuilding it. Selecting a row
+     * shows that student's full report. Grade changes reach the table through `reportsScheduler`, one
+     * refresh per batch of notifications.
+     */
+    private Parent buildStudentsReportsToAdviser() {
+        VBox reportsLayout = new VBox(10);
+        reportsLayout.getStyleClass().add("report-layout");
+
+        Label title = new Label("Students' Reports");
+        title.getStyleClass().add("report-title");
+
+        adviserStudents.setAll(Database.getInstance().getStudentsOfAdviser(adviser.getName()));
+        FilteredList<Student> filtered = new FilteredList<>(adviserStudents);
+        SortedList<Student> sorted = new SortedList<>(filtered);
+
+        reportsTable = new TableView<>();
+        reportsTable.setItems(sorted);
+        sorted.comparatorProperty().bind(reportsTable.comparatorProperty());
+
+        TableColumn<Student, String> nameColumn = new TableColumn<>("Student");
+        nameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getName()));
+        reportsTable.getColumns().add(nameColumn);
+        for (String subjectName : subjectNames(adviserStudents)) {
+            TableColumn<Student, Double> subjectColumn = new TableColumn<>(subjectName);
+            subjectColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(subjectTotal(cell.getValue(), subjectName)));
+            reportsTable.getColumns().add(subjectColumn);
+        }
+        VBox.setVgrow(reportsTable, Priority.ALWAYS);
+
+        TextField nameFilter = new TextField();
+        nameFilter.setPromptText("Filter by name");
+        nameFilter.getStyleClass().add("blue-text-field");
+
+        CheckBox atRiskOnly = new CheckBox("Only students below the pass mark");
+        nameFilter.textProperty().addListener((obs, oldText, newText) -> filtered.setPredicate(reportFilter(nameFilter.getText(), atRiskOnly.isSelected())));
+        atRiskOnly.selectedProperty().addListener((obs, wasSelected, selected) -> filtered.setPredicate(reportFilter(nameFilter.getText(), atRiskOnly.isSelected())));
+
+        TextArea reportArea = new TextArea();
+        reportArea.setEditable(false);
+        reportArea.setPrefHeight(150);
+        reportsTable.getSelectionModel().selectedItemProperty().addListener((obs, previous, selected) ->
+                reportArea.setText(selected == null ? "" : selected.generateReport()));
+
+        // Runs on the FX thread with the distinct students changed since the last refresh.
+        reportsRefresh = changed -> {
+            if (atRiskOnly.isSelected()) {
+                filtered.setPredicate(reportFilter(nameFilter.getText(), true));
+            }
+            reportsTable.refresh();
+            Student selected = reportsTable.getSelectionModel().getSelectedItem();
+            if (selected != null && changed.contains(selected)) {
+                reportArea.setText(selected.generateReport());
+            }
+        };
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showAdviserMenu());
+
+        reportsLayout.getChildren().addAll(title, nameFilter, atRiskOnly, reportsTable, reportArea, backButton);
+        return reportsLayout;
+    }
+
+    // Subject columns in first-seen order; students usually share the same subjects.
+    private static Set<String> subjectNames(Collection<Student> students) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Student student : students) {
+            for (Subject subject : student.getSubjects()) {
+                names.add(subject.getName());
+            }
+        }
+        return names;
+    }
+
+    // Called for every visible cell on each refresh, so it uses the student's name index instead of a scan.
+    private static Double subjectTotal(Student student, String subjectName) {
+        Subject subject = student.getSubject(subjectName);
+        return subject == null ? null : subject.getTotalScore();
+    }
+
+    private static Predicate<Student> reportFilter(String text, boolean atRiskOnly) {
+        String needle = text == null ? "" : text.trim().toLowerCase();
+        if (needle.isEmpty() && !atRiskOnly) {
+            return null;
+        }
+        double passScore = ThresholdTable.getDefault().getPassScore();
+        return student -> {
+            if (!needle.isEmpty() && !student.getName().toLowerCase().contains(needle)) {
+                return false;
+            }
+            if (atRiskOnly) {
+                for (Subject subject : student.getSubjects()) {
+                    if (subject.getTotalScore() < passScore) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * The function `showAtRiskStudents` lists the adviser's subjects with the largest retake shortfall,
+     * read from the head of the adviser's at-risk index. The index is looked up (and built on first use)
+     * off the FX thread; the view opens at once and the text is filled in when the list is ready.
+     */
+    private void showAtRiskStudents() {
+        String adviserName = adviser.getName();
+        atRiskText.set("Loading...");
+        navigation.show(AT_RISK);
+        CompletableFuture.supplyAsync(() -> atRiskSummary(adviserName))
+                .whenComplete((text, error) -> Platform.runLater(() ->
+                        atRiskText.set(error == null ? text : "Could not load the at-risk list: " + error.getMessage())));
+    }
+
+    private static String atRiskSummary(String adviserName) {
+        StringBuilder text = new StringBuilder();
+        int shown = 0;
+        for (AtRiskIndex.Entry entry : Database.getInstance().getAtRiskIndex(adviserName).atRisk()) {
+            if (shown == 20) {
+                break;
+            }
+            text.append(entry).append("\n");
+            shown++;
+        }
+        if (shown == 0) {
+            text.append("No student is below the pass mark.");
+        }
+        return text.toString();
+    }
+
+    private Parent buildAtRiskStudents() {
+        VBox atRiskLayout = new VBox(10);
+        atRiskLayout.getStyleClass().add("report-layout");
+
+        Label title = new Label("Most Likely to Retake");
+        title.getStyleClass().add("report-title");
+
+        TextArea atRiskArea = new TextArea();
+        atRiskArea.setEditable(false);
+        atRiskArea.setPrefHeight(900);
+        atRiskArea.textProperty().bind(atRiskText);
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showAdviserMenu());
+
+        atRiskLayout.getChildren().addAll(title, atRiskArea, backButton);
+        return atRiskLayout;
+    }
+
+    private void showStudentMenu() {
+        navigation.show(STUDENT_MENU);
+    }
+
+/**
+*  The function 'buildStudentMenu' builds the student menu with various options such as adding grades, 
+* viewing reports, calculating retake probability, and checking scholarship eligibility.
+*/
+    private Parent buildStudentMenu() {
+        VBox studentMenu = new VBox(10);
+        studentMenu.getStyleClass().add("menu-layout");
+
+        Button addGradesButton = new Button("Add Grades");
+        addGradesButton.getStyleClass().add("menu-button");
+
+        Button viewReportButton = new Button("View Report");
+        viewReportButton.getStyleClass().add("menu-button");
+
+        Button calculateRetakeButton = new Button("Calculate Retake Probability");
+        calculateRetakeButton.getStyleClass().add("menu-button");
+
+        Button calculateScholarshipButton = new Button("Calculate Scholarship Eligibility");
+        calculateScholarshipButton.getStyleClass().add("menu-button");
+
+        Button logoutButton = new Button("Logout");
+        logoutButton.getStyleClass().add("menu-button");
+
+        addGradesButton.setOnAction(e -> showAddGradesMenu());
+        viewReportButton.setOnAction(e -> showStudentReport());
+        calculateRetakeButton.setOnAction(e -> showRetakeProbability());
+        calculateScholarshipButton.setOnAction(e -> showScholarshipProbability());
+        logoutButton.setOnAction(e -> logout());
+
+        studentMenu.getChildren().addAll(addGradesButton, viewReportButton, calculateRetakeButton, calculateScholarshipButton, logoutButton);
+        return studentMenu;
+    }
+
+    private void showStudentReport() {
+        studentReportText.set(student.generateReport());
+        navigation.show(STUDENT_REPORT);
+    }
+
+/**
+ * The function 'buildStudentReport' builds the student report screen with a title, a non-editable text area containing the report,
+ * and a back button to return to the student menu.
+ */
+    private Parent buildStudentReport() {
+        VBox reportLayout = new VBox(10);
+        reportLayout.getStyleClass().add("report-layout");
+
+        Label title = new Label("Student Report");
+        title.getStyleClass().add("report-title");
+
+        TextArea reportArea = new TextArea();
+        reportArea.setEditable(false);
+        reportArea.setPrefHeight(400);
+        reportArea.textProperty().bind(studentReportText);
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showStudentMenu());
+
+        reportLayout.getChildren().addAll(title, reportArea, backButton);
+        return reportLayout;
+    }
+
+    private void showRetakeProbability() {
+        retakeText.set(student.getStrategyResult(new RetakeStrategy()));
+        navigation.show(RETAKE);
+    }
+
+/**
+* The function 'buildRetakeProbability' builds the screen showing the retake probability result for the student.
+* It includes a title, a non-editable text area showing the calculated probability, 
+* and a back button to return to the student menu.
+*/
+
+    private Parent buildRetakeProbability() {
+        VBox probabilityLayout = new VBox(10);
+        probabilityLayout.getStyleClass().add("report-layout");
+
+        Label title = new Label("Retake Probability");
+        title.getStyleClass().add("report-title");
+        title.getStyleClass().add("black-text");
+
+        TextArea resultTextArea = new TextArea();
+        resultTextArea.setEditable(false);
+        resultTextArea.setPrefHeight(400);
+        resultTextArea.textProperty().bind(retakeText);
+        resultTextArea.getStyleClass().add("blue-text-field");
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showStudentMenu());
+
+        probabilityLayout.getChildren().addAll(title, resultTextArea, backButton);
+        return probabilityLayout;
+    }
+
+    private void showScholarshipProbability() {
+        scholarshipText.set(student.getStrategyResult(new ScholarshipStrategy()));
+        navigation.show(SCHOLARSHIP);
+    }
+
+/**
+* The function 'buildScholarshipProbability' builds the screen showing the scholarship eligibility result for the student.
+* It includes a title, a non-editable text area showing the calculated scholarship probability, 
+* and a back button to return to the student menu.
+*/
+    private Parent buildScholarshipProbability() {
+        VBox probabilityLayout = new VBox(10);
+        probabilityLayout.getStyleClass().add("report-layout");
+
+        Label title = new Label("Scholarship Probability");
+        title.getStyleClass().add("report-title");
+        title.getStyleClass().add("black-text");
+
+        TextArea resultTextArea = new TextArea();
+        resultTextArea.setEditable(false);
+        resultTextArea.textProperty().bind(scholarshipText);
+        resultTextArea.getStyleClass().add("blue-text-field");
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showStudentMenu());
+
+        probabilityLayout.getChildren().addAll(title, resultTextArea, backButton);
+        return probabilityLayout;
+    }
+
+    private void showAddGradesMenu() {
+        navigation.show(ADD_GRADES);
+    }
+
+/**
+* The function 'buildAddGradesMenu' builds the menu for adding grades to a subject.
+* It allows the user to select a subject, enter a category, input a score, 
+* and submit the grade. A back button returns the user to the student menu.
+*/
+    private Parent buildAddGradesMenu() {
+        VBox addGradesLayout = new VBox(10);
+        addGradesLayout.getStyleClass().add("menu-layout");
+
+        Label subjectLabel = new Label("Choose a subject:");
+        ComboBox<String> subjectComboBox = new ComboBox<>(studentSubjectNames);
+        Label categoryLabel = new Label("Enter category:");
+        TextField categoryField = new TextField();
+        categoryField.setPromptText("e.g., Quiz, Midterm, Lab.work, Project, Home work, Contest, Ders");
+
+        Label scoreLabel = new Label("Enter total score:");
+        TextField scoreField = new TextField();
+        scoreField.setPromptText("e.g., Quiz(40), Midterm(30), Lab.work(40), Project(20), Contest(30), Home work(30), Ders(30)");
+
+        Button backButton = new Button("Back");
+        backButton.getStyleClass().add("back-button");
+        backButton.setOnAction(e -> showStudentMenu());
+
+        Button addButton = new Button("Add Grade");
+        addButton.getStyleClass().add("add-button");
+        addButton.setOnAction(e -> {
+            if (UserFactory.fromSession(sessionToken) != student) {
+                showAlert("Error", "Your session has expired. Please log in again.");
+                logout();
+                return;
+            }
+            String subjectName = subjectComboBox.getValue();
+            String category = categoryField.getText();
+            double score;
+            try {
+                score = Double.parseDouble(scoreField.getText());
+            } catch (NumberFormatException ex) {
+                showAlert("Error", "Invalid score. Please enter a number.");
+                return;
+            }
+
+            Subject subject = subjectName == null ? null : student.getSubject(subjectName);
+
+            if (subject == null || subject.slotOf(category) < 0) {
+                showAlert("Error", "Invalid subject or category.");
+                return;
+            }
+
+            if (student.addGrade(subjectName, category, score)) {
+                showAlert("Success", "Grade added successfully!");
+            } else {
+                showAlert("Error", "Grade not added: the score must be a number and the total for " + category
+                        + " cannot exceed " + subject.getMaxPoints().get(category) + ".");
+            }
+        });
+
+        addGradesLayout.getChildren().addAll(subjectLabel, subjectComboBox, categoryLabel, categoryField, scoreLabel, scoreField, addButton, backButton);
+        return addGradesLayout;
+    }
+
+// Logging out drops the session token; the next login issues a new one.
+    private void logout() {
+        sessionToken = null;
+        showLoginScreen();
+    }
+
+/**
+* The function 'showAlert' displays an information alert with a given title and message.
+* One INFORMATION alert is created on first use and reused; only its title and content change.
+*/
+    private void showAlert(String title, String message) {
+        if (alert == null) {
+            alert = new Alert(Alert.AlertType.INFORMATION);
+        }
+        alert.setTitle(title);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}